@@ -0,0 +1,93 @@
+package de.ilyes.device.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ilyes.device.config.converter.CborConfiguration;
+import de.ilyes.device.mapper.dto.DeviceCreationDto;
+import de.ilyes.device.mapper.dto.DeviceDto;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Encode and decode cost of device payloads as JSON, with pattern-formatted dates, and as CBOR,
+ * with epoch dates. The write benchmarks also count {@code encodedBytes} and {@code encodings} as
+ * secondary results, so the payload size (their ratio) ends up in the JMH result file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeviceCborBenchmark {
+
+  @Param({"json", "cbor"})
+  private String format;
+
+  @Param({"20", "200"})
+  private int pageSize;
+
+  private ObjectMapper objectMapper;
+  private JavaType deviceListType;
+  private DeviceCreationDto creation;
+  private List<DeviceDto> devices;
+  private byte[] encodedCreation;
+  private byte[] encodedDevices;
+
+  @Setup
+  public void setUp() throws Exception {
+    ObjectMapper jsonObjectMapper = Jackson2ObjectMapperBuilder.json().build();
+    objectMapper =
+        "cbor".equals(format)
+            ? CborConfiguration.cborObjectMapper(jsonObjectMapper)
+            : jsonObjectMapper;
+    deviceListType =
+        objectMapper.getTypeFactory().constructCollectionType(List.class, DeviceDto.class);
+    creation = DeviceFixtures.creationDto(1);
+    devices = DeviceFixtures.dtos(pageSize);
+    encodedCreation = objectMapper.writeValueAsBytes(creation);
+    encodedDevices = objectMapper.writeValueAsBytes(devices);
+  }
+
+  @Benchmark
+  public byte[] writeCreation(PayloadSize payloadSize) throws Exception {
+    byte[] encoded = objectMapper.writeValueAsBytes(creation);
+    payloadSize.encodedBytes += encoded.length;
+    payloadSize.encodings++;
+    return encoded;
+  }
+
+  @Benchmark
+  public DeviceCreationDto readCreation() throws Exception {
+    return objectMapper.readValue(encodedCreation, DeviceCreationDto.class);
+  }
+
+  @Benchmark
+  public byte[] writeDevices(PayloadSize payloadSize) throws Exception {
+    byte[] encoded = objectMapper.writeValueAsBytes(devices);
+    payloadSize.encodedBytes += encoded.length;
+    payloadSize.encodings++;
+    return encoded;
+  }
+
+  @Benchmark
+  public List<DeviceDto> readDevices() throws Exception {
+    return objectMapper.readValue(encodedDevices, deviceListType);
+  }
+
+  // EVENTS counters are summed over the measurement iterations rather than divided by time.
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class PayloadSize {
+    public long encodedBytes;
+    public long encodings;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      encodedBytes = 0;
+      encodings = 0;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package de.ilyes.device.benchmark;
+
+import de.ilyes.device.mapper.dto.DeviceCreationDto;
+import de.ilyes.device.mapper.dto.DeviceDto;
+import de.ilyes.device.mapper.dto.DeviceState;
+import de.ilyes.device.repository.entity.DeviceEntity;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class DeviceFixtures {
+
+  private DeviceFixtures() {}
+
+  static DeviceCreationDto creationDto(int index) {
+    return DeviceCreationDto.builder()
+        .name("Device " + index)
+        .brand("Brand " + (index % 10))
+        .deviceState(DeviceState.AVAILABLE)
+        .creationTime(ZonedDateTime.now().minusDays(1))
+        .build();
+  }
+
+  static DeviceEntity entity(long id) {
+    return DeviceEntity.builder()
+        .id(id)
+        .name("Device " + id)
+        .brand("Brand " + (id % 10))
+        .deviceState(DeviceState.AVAILABLE)
+        .creationTime(ZonedDateTime.now().minusDays(1))
+        .createdOn(Instant.now())
+        .lastUpdatedOn(Instant.now())
+        .version(0L)
+        .build();
+  }
+
+  static DeviceDto dto(long id) {
+    return DeviceDto.builder()
+        .id(id)
+        .name("Device " + id)
+        .brand("Brand " + (id % 10))
+        .deviceState(DeviceState.AVAILABLE)
+        .creationTime(ZonedDateTime.now().minusDays(1))
+        .version(0L)
+        .build();
+  }
+
+  static List<DeviceDto> dtos(int size) {
+    List<DeviceDto> dtos = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      dtos.add(dto(i));
+    }
+    return dtos;
+  }
+}
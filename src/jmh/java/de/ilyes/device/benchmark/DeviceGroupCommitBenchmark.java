@@ -0,0 +1,68 @@
+package de.ilyes.device.benchmark;
+
+import de.ilyes.device.DeviceApplication;
+import de.ilyes.device.mapper.dto.DeviceCreationDto;
+import de.ilyes.device.mapper.dto.DeviceDto;
+import de.ilyes.device.service.DeviceService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Concurrent single-device creates with and without group commit against a real Postgres. Needs
+ * Docker.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class DeviceGroupCommitBenchmark {
+
+  @Param({"false", "true"})
+  private boolean groupCommit;
+
+  private PostgreSQLContainer<?> postgres;
+  private ConfigurableApplicationContext context;
+  private DeviceService deviceService;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:18.0-alpine3.22"));
+    postgres.start();
+    context =
+        new SpringApplicationBuilder(DeviceApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=" + postgres.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword(),
+                "spring.flyway.url=" + postgres.getJdbcUrl(),
+                "spring.flyway.user=" + postgres.getUsername(),
+                "spring.flyway.password=" + postgres.getPassword(),
+                "device.group-commit.enabled=" + groupCommit,
+                "logging.level.root=WARN")
+            .run();
+    deviceService = context.getBean(DeviceService.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+    postgres.stop();
+  }
+
+  @Benchmark
+  public DeviceDto create() {
+    DeviceCreationDto dto =
+        DeviceFixtures.creationDto(ThreadLocalRandom.current().nextInt(1_000_000));
+    return deviceService.create(dto);
+  }
+}
@@ -0,0 +1,81 @@
+package de.ilyes.device.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ilyes.device.mapper.dto.DeviceCreationDto;
+import de.ilyes.device.mapper.dto.DeviceDto;
+import de.ilyes.device.mapper.dto.DevicePageDto;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeviceJsonBenchmark {
+
+  @Param({"20", "200"})
+  private int pageSize;
+
+  private ObjectMapper objectMapper;
+  private DeviceDto device;
+  private byte[] deviceJson;
+  private byte[] creationJson;
+  private Page<DeviceDto> page;
+  private DevicePageDto compactSparsePage;
+
+  @Setup
+  public void setUp() throws Exception {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    device = DeviceFixtures.dto(1);
+    deviceJson = objectMapper.writeValueAsBytes(device);
+    creationJson = objectMapper.writeValueAsBytes(DeviceFixtures.creationDto(1));
+    page = new PageImpl<>(DeviceFixtures.dtos(pageSize), PageRequest.of(0, pageSize), 10_000);
+    compactSparsePage =
+        DevicePageDto.builder()
+            .content(
+                page.getContent().stream()
+                    .map(
+                        dto ->
+                            DeviceDto.builder()
+                                .id(dto.getId())
+                                .deviceState(dto.getDeviceState())
+                                .build())
+                    .toList())
+            .page(0)
+            .size(pageSize)
+            .hasNext(true)
+            .total(10_000L)
+            .build();
+  }
+
+  @Benchmark
+  public byte[] writeDevice() throws Exception {
+    return objectMapper.writeValueAsBytes(device);
+  }
+
+  @Benchmark
+  public DeviceDto readDevice() throws Exception {
+    return objectMapper.readValue(deviceJson, DeviceDto.class);
+  }
+
+  @Benchmark
+  public DeviceCreationDto readCreationDevice() throws Exception {
+    return objectMapper.readValue(creationJson, DeviceCreationDto.class);
+  }
+
+  @Benchmark
+  public byte[] writePage() throws Exception {
+    return objectMapper.writeValueAsBytes(page);
+  }
+
+  @Benchmark
+  public byte[] writeCompactSparsePage() throws Exception {
+    return objectMapper.writeValueAsBytes(compactSparsePage);
+  }
+}
@@ -0,0 +1,51 @@
+package de.ilyes.device.benchmark;
+
+import de.ilyes.device.mapper.DeviceMapper;
+import de.ilyes.device.mapper.DeviceMapperImpl;
+import de.ilyes.device.mapper.dto.DeviceCreationDto;
+import de.ilyes.device.mapper.dto.DeviceDto;
+import de.ilyes.device.mapper.dto.DevicePatchDto;
+import de.ilyes.device.repository.entity.DeviceEntity;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeviceMapperBenchmark {
+
+  private DeviceMapper deviceMapper;
+  private DeviceCreationDto creationDto;
+  private DeviceEntity entity;
+  private DevicePatchDto patchDto;
+  private DeviceEntity patchTarget;
+
+  @Setup
+  public void setUp() {
+    deviceMapper = new DeviceMapperImpl();
+    creationDto = DeviceFixtures.creationDto(1);
+    entity = DeviceFixtures.entity(1);
+    patchDto = new DevicePatchDto();
+    patchDto.setName("Patched Device");
+    patchTarget = DeviceFixtures.entity(2);
+  }
+
+  @Benchmark
+  public DeviceDto toDto() {
+    return deviceMapper.toDto(entity);
+  }
+
+  @Benchmark
+  public DeviceEntity toEntity() {
+    return deviceMapper.toEntity(creationDto);
+  }
+
+  @Benchmark
+  public DeviceEntity patchEntity() {
+    deviceMapper.patchEntity(patchDto, patchTarget);
+    return patchTarget;
+  }
+}
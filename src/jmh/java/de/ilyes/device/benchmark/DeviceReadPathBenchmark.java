@@ -0,0 +1,164 @@
+package de.ilyes.device.benchmark;
+
+import de.ilyes.device.DeviceApplication;
+import de.ilyes.device.mapper.DeviceMapper;
+import de.ilyes.device.mapper.dto.DeviceCreationDto;
+import de.ilyes.device.mapper.dto.DeviceDto;
+import de.ilyes.device.mapper.dto.DeviceLookupResultDto;
+import de.ilyes.device.repository.entity.DeviceEntity;
+import de.ilyes.device.repository.entity.DeviceRepository;
+import de.ilyes.device.service.DeviceService;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Compares the DTO projection read path with the former entity hydration path, and per-id lookups
+ * with a single ids lookup, against a real Postgres. Needs Docker, and the device cache is disabled
+ * so every call reaches the database.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeviceReadPathBenchmark {
+
+  private static final int SEEDED_DEVICES = 5_000;
+  private static final String ENTITY_PAGE_FILTER =
+      " FROM DeviceEntity d WHERE (COALESCE(:brand, '') = '' OR LOWER(d.brand) LIKE LOWER(:brand))"
+          + " AND (COALESCE(:name, '') = '' OR LOWER(d.name) LIKE LOWER(:name))";
+
+  @Param({"20", "200"})
+  private int pageSize;
+
+  private PostgreSQLContainer<?> postgres;
+  private ConfigurableApplicationContext context;
+  private DeviceService deviceService;
+  private DeviceRepository deviceRepository;
+  private DeviceMapper deviceMapper;
+  private EntityManager entityManager;
+  private TransactionTemplate transactionTemplate;
+  private List<Long> ids;
+  private Pageable pageable;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:18.0-alpine3.22"));
+    postgres.start();
+    context =
+        new SpringApplicationBuilder(DeviceApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=" + postgres.getJdbcUrl(),
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword(),
+                "spring.flyway.url=" + postgres.getJdbcUrl(),
+                "spring.flyway.user=" + postgres.getUsername(),
+                "spring.flyway.password=" + postgres.getPassword(),
+                "spring.cache.type=none",
+                "logging.level.root=WARN")
+            .run();
+    deviceService = context.getBean(DeviceService.class);
+    deviceRepository = context.getBean(DeviceRepository.class);
+    deviceMapper = context.getBean(DeviceMapper.class);
+    entityManager = context.getBean(EntityManager.class);
+    transactionTemplate =
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+    List<DeviceEntity> devices = new ArrayList<>(SEEDED_DEVICES);
+    for (int i = 0; i < SEEDED_DEVICES; i++) {
+      DeviceCreationDto dto = DeviceFixtures.creationDto(i);
+      devices.add(deviceMapper.toEntity(dto));
+    }
+    transactionTemplate.executeWithoutResult(status -> deviceRepository.insertAll(devices));
+    ids = devices.stream().map(DeviceEntity::getId).toList();
+    pageable = PageRequest.of(0, pageSize);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+    postgres.stop();
+  }
+
+  @Benchmark
+  public DeviceDto getByIdEntity() {
+    Long id = randomId();
+    return transactionTemplate.execute(
+        status -> deviceRepository.findById(id).map(deviceMapper::toDto).orElseThrow());
+  }
+
+  @Benchmark
+  public DeviceDto getByIdProjection() {
+    return deviceService.getById(randomId());
+  }
+
+  @Benchmark
+  public Page<DeviceDto> findPageEntity() {
+    return transactionTemplate.execute(
+        status -> {
+          List<DeviceEntity> content =
+              entityManager
+                  .createQuery("SELECT d" + ENTITY_PAGE_FILTER, DeviceEntity.class)
+                  .setParameter("brand", "Brand 1")
+                  .setParameter("name", null)
+                  .setFirstResult((int) pageable.getOffset())
+                  .setMaxResults(pageable.getPageSize())
+                  .getResultList();
+          Long total =
+              entityManager
+                  .createQuery("SELECT COUNT(d)" + ENTITY_PAGE_FILTER, Long.class)
+                  .setParameter("brand", "Brand 1")
+                  .setParameter("name", null)
+                  .getSingleResult();
+          return new PageImpl<>(content, pageable, total).map(deviceMapper::toDto);
+        });
+  }
+
+  @Benchmark
+  public Page<DeviceDto> findPageProjection() {
+    return deviceService.findByBrandOrName("Brand 1", null, pageable);
+  }
+
+  @Benchmark
+  public List<DeviceDto> getManyByIdOneByOne() {
+    List<DeviceDto> devices = new ArrayList<>(pageSize);
+    for (Long id : randomIds()) {
+      devices.add(deviceService.getById(id));
+    }
+    return devices;
+  }
+
+  @Benchmark
+  public DeviceLookupResultDto getManyByIdsLookup() {
+    return deviceService.findByIds(randomIds(), null);
+  }
+
+  private List<Long> randomIds() {
+    List<Long> randomIds = new ArrayList<>(pageSize);
+    for (int i = 0; i < pageSize; i++) {
+      randomIds.add(randomId());
+    }
+    return randomIds;
+  }
+
+  private Long randomId() {
+    return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+  }
+}
@@ -0,0 +1,116 @@
+package de.ilyes.device.benchmark;
+
+import de.ilyes.device.config.properties.DeviceBatchProperties;
+import de.ilyes.device.mapper.DeviceMapperImpl;
+import de.ilyes.device.mapper.dto.DeviceBatchCreationResultDto;
+import de.ilyes.device.mapper.dto.DeviceCreationDto;
+import de.ilyes.device.mapper.dto.DeviceDto;
+import de.ilyes.device.mapper.dto.DevicePatchDto;
+import de.ilyes.device.mapper.dto.DeviceSearchCriteria;
+import de.ilyes.device.repository.entity.DeviceEntity;
+import de.ilyes.device.repository.entity.DeviceRepository;
+import de.ilyes.device.service.DeviceGroupCommitter;
+import de.ilyes.device.service.DeviceService;
+import de.ilyes.device.service.DeviceStateIndex;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+/** Service logic only: the repository is an in-memory stub, so no database time is included. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeviceServiceBenchmark {
+
+  @Param({"20", "200"})
+  private int size;
+
+  private ValidatorFactory validatorFactory;
+  private DeviceService deviceService;
+  private List<DeviceCreationDto> batch;
+  private DevicePatchDto patchDto;
+  private DeviceSearchCriteria criteria;
+  private Pageable pageable;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    batch = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      batch.add(DeviceFixtures.creationDto(i));
+    }
+    pageable = PageRequest.of(0, size);
+    Page<DeviceDto> page = new PageImpl<>(DeviceFixtures.dtos(size), pageable, 10_000);
+    DeviceEntity patched = DeviceFixtures.entity(1);
+
+    DeviceRepository deviceRepository =
+        (DeviceRepository)
+            Proxy.newProxyInstance(
+                DeviceRepository.class.getClassLoader(),
+                new Class<?>[] {DeviceRepository.class},
+                (proxy, method, args) ->
+                    switch (method.getName()) {
+                      case "saveAll" -> withIds((List<DeviceEntity>) args[0]);
+                      case "findByBrandOrName", "findByCriteria" -> page;
+                      case "updateIfAllowed" -> Optional.of(patched);
+                      default -> throw new UnsupportedOperationException(method.getName());
+                    });
+
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    deviceService =
+        new DeviceService(
+            deviceRepository,
+            new DeviceMapperImpl(),
+            validatorFactory.getValidator(),
+            new DeviceBatchProperties(),
+            new NoOpCacheManager(),
+            new DeviceStateIndex(deviceRepository, new JdbcTransactionManager()),
+            new StaticListableBeanFactory().getBeanProvider(DeviceGroupCommitter.class));
+    patchDto = new DevicePatchDto();
+    patchDto.setName("Patched Device");
+    criteria = DeviceSearchCriteria.builder().brand("Brand 1").build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    validatorFactory.close();
+  }
+
+  @Benchmark
+  public DeviceBatchCreationResultDto createBatch() {
+    return deviceService.createBatch(batch);
+  }
+
+  @Benchmark
+  public Page<DeviceDto> search() {
+    return deviceService.search(criteria, pageable);
+  }
+
+  @Benchmark
+  public DeviceDto patchDevice() {
+    return deviceService.patchDevice(1L, patchDto, null);
+  }
+
+  private static List<DeviceEntity> withIds(List<DeviceEntity> entities) {
+    long id = 1;
+    for (DeviceEntity entity : entities) {
+      entity.setId(id++);
+    }
+    return entities;
+  }
+}
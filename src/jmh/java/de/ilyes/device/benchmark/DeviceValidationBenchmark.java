@@ -0,0 +1,63 @@
+package de.ilyes.device.benchmark;
+
+import de.ilyes.device.config.validation.BetweenPresentAndPastMonths;
+import de.ilyes.device.config.validation.BetweenPresentAndPastMonthsValidator;
+import de.ilyes.device.mapper.dto.DeviceCreationDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.time.ZonedDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeviceValidationBenchmark {
+
+  private ValidatorFactory validatorFactory;
+  private Validator validator;
+  private BetweenPresentAndPastMonthsValidator creationTimeValidator;
+  private DeviceCreationDto validDevice;
+  private DeviceCreationDto invalidDevice;
+
+  @Setup
+  public void setUp() throws Exception {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    validator = validatorFactory.getValidator();
+    creationTimeValidator = new BetweenPresentAndPastMonthsValidator();
+    creationTimeValidator.initialize(
+        DeviceCreationDto.class
+            .getDeclaredField("creationTime")
+            .getAnnotation(BetweenPresentAndPastMonths.class));
+    validDevice = DeviceFixtures.creationDto(1);
+    invalidDevice = DeviceFixtures.creationDto(2);
+    invalidDevice.setName("");
+    invalidDevice.setCreationTime(ZonedDateTime.now().minusYears(1));
+  }
+
+  @TearDown
+  public void tearDown() {
+    validatorFactory.close();
+  }
+
+  @Benchmark
+  public boolean creationTimeValidator() {
+    return creationTimeValidator.isValid(validDevice.getCreationTime(), null);
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<DeviceCreationDto>> validateValidDevice() {
+    return validator.validate(validDevice);
+  }
+
+  @Benchmark
+  public Set<ConstraintViolation<DeviceCreationDto>> validateInvalidDevice() {
+    return validator.validate(invalidDevice);
+  }
+}
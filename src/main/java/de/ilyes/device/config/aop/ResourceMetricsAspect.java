@@ -0,0 +1,80 @@
+package de.ilyes.device.config.aop;
+
+import de.ilyes.device.exception.DeviceCannotBeDeletedWhileStatusInUseException;
+import de.ilyes.device.exception.DeviceCannotBeUpdatedWhileStatusInUseException;
+import de.ilyes.device.exception.DeviceNotFoundException;
+import de.ilyes.device.exception.DeviceTechnicalException;
+import de.ilyes.device.exception.DeviceVersionMismatchException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+public class ResourceMetricsAspect {
+  public static final String RESOURCE_INVOCATIONS_METRIC = "device.resource.invocations";
+
+  private final MeterRegistry meterRegistry;
+
+  public ResourceMetricsAspect(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Around("within(de.ilyes.device.resource..*) && execution(public * *(..))")
+  public Object timeExecution(ProceedingJoinPoint joinPoint) throws Throwable {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String method = joinPoint.getSignature().getName();
+    try {
+      Object result = joinPoint.proceed();
+      stop(sample, method, outcome(result), "none");
+      return result;
+    } catch (Throwable ex) {
+      stop(sample, method, outcome(ex), ex.getClass().getSimpleName());
+      throw ex;
+    }
+  }
+
+  private void stop(Timer.Sample sample, String method, String outcome, String exception) {
+    sample.stop(
+        Timer.builder(RESOURCE_INVOCATIONS_METRIC)
+            .description("DeviceResource method execution time")
+            .tag("method", method)
+            .tag("outcome", outcome)
+            .tag("exception", exception)
+            .register(meterRegistry));
+  }
+
+  private static String outcome(Object result) {
+    if (result instanceof ResponseEntity<?> response && response.getStatusCode().isError()) {
+      if (response.getStatusCode().value() == HttpStatus.NOT_FOUND.value()) {
+        return "NOT_FOUND";
+      }
+      return response.getStatusCode().is4xxClientError() ? "CLIENT_ERROR" : "SERVER_ERROR";
+    }
+    return "SUCCESS";
+  }
+
+  private static String outcome(Throwable ex) {
+    if (ex instanceof DeviceNotFoundException) {
+      return "NOT_FOUND";
+    }
+    if (ex instanceof DeviceCannotBeUpdatedWhileStatusInUseException
+        || ex instanceof DeviceCannotBeDeletedWhileStatusInUseException) {
+      return "IN_USE_VIOLATION";
+    }
+    if (ex instanceof DeviceVersionMismatchException) {
+      return "VERSION_MISMATCH";
+    }
+    if (ex instanceof DeviceTechnicalException technicalException
+        && technicalException.getHttpStatus() != null
+        && technicalException.getHttpStatus().is4xxClientError()) {
+      return "CLIENT_ERROR";
+    }
+    return "SERVER_ERROR";
+  }
+}
@@ -0,0 +1,19 @@
+package de.ilyes.device.config.async;
+
+import java.util.List;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+
+@Configuration
+public class AsyncConfiguration {
+
+  // Spring Boot only applies a TaskDecorator bean when it is the only one, so the thread context
+  // decorators are combined here.
+  @Bean
+  public TaskDecorator taskDecorator() {
+    return new CompositeTaskDecorator(
+        List.of(new MdcTaskDecorator(), new PrimaryReadsTaskDecorator()));
+  }
+}
@@ -0,0 +1,30 @@
+package de.ilyes.device.config.async;
+
+import java.util.Map;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+public class MdcTaskDecorator implements TaskDecorator {
+
+  @Override
+  public Runnable decorate(Runnable runnable) {
+    Map<String, String> contextMap = MDC.getCopyOfContextMap();
+    return () -> {
+      Map<String, String> previous = MDC.getCopyOfContextMap();
+      if (contextMap != null) {
+        MDC.setContextMap(contextMap);
+      } else {
+        MDC.clear();
+      }
+      try {
+        runnable.run();
+      } finally {
+        if (previous != null) {
+          MDC.setContextMap(previous);
+        } else {
+          MDC.clear();
+        }
+      }
+    };
+  }
+}
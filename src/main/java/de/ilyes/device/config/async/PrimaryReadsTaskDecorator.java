@@ -0,0 +1,33 @@
+package de.ilyes.device.config.async;
+
+import de.ilyes.device.config.datasource.PrimaryReads;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries {@link PrimaryReads} over to async request processing, such as streamed exports, so
+ * {@code X-Read-Your-Writes} also applies there.
+ */
+public class PrimaryReadsTaskDecorator implements TaskDecorator {
+
+  @Override
+  public Runnable decorate(Runnable runnable) {
+    boolean required = PrimaryReads.isRequired();
+    return () -> {
+      boolean previous = PrimaryReads.isRequired();
+      apply(required);
+      try {
+        runnable.run();
+      } finally {
+        apply(previous);
+      }
+    };
+  }
+
+  private static void apply(boolean required) {
+    if (required) {
+      PrimaryReads.require();
+    } else {
+      PrimaryReads.clear();
+    }
+  }
+}
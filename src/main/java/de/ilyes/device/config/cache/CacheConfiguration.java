@@ -0,0 +1,29 @@
+package de.ilyes.device.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.ilyes.device.config.properties.DeviceCountProperties;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+  public static final String DEVICE_CACHE = "devices";
+  public static final String DEVICE_COUNT_CACHE = "deviceCounts";
+
+  @Bean
+  public CacheManagerCustomizer<CaffeineCacheManager> deviceCountCacheCustomizer(
+      DeviceCountProperties countProperties) {
+    return cacheManager ->
+        cacheManager.registerCustomCache(
+            DEVICE_COUNT_CACHE,
+            Caffeine.newBuilder()
+                .maximumSize(countProperties.getCacheMaxSize())
+                .expireAfterWrite(countProperties.getCacheTtl())
+                .recordStats()
+                .build());
+  }
+}
@@ -0,0 +1,49 @@
+package de.ilyes.device.config.converter;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import de.ilyes.device.config.DateFormatPatternConstant;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+/**
+ * Serves {@code application/cbor} next to JSON, which stays the default. The CBOR mapper shares the
+ * JSON mapper's modules and settings, but writes the pattern-formatted date-times as epoch
+ * milliseconds instead of formatting and parsing them as strings.
+ */
+@Configuration
+public class CborConfiguration {
+
+  @Bean
+  MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+    return new MappingJackson2CborHttpMessageConverter(cborObjectMapper(objectMapper));
+  }
+
+  public static ObjectMapper cborObjectMapper(ObjectMapper jsonObjectMapper) {
+    ObjectMapper cborObjectMapper = jsonObjectMapper.copyWith(new CBORFactory());
+    cborObjectMapper.setAnnotationIntrospector(new EpochDateTimeAnnotationIntrospector());
+    cborObjectMapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    cborObjectMapper.disable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS);
+    cborObjectMapper.disable(DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS);
+    return cborObjectMapper;
+  }
+
+  private static class EpochDateTimeAnnotationIntrospector extends JacksonAnnotationIntrospector {
+
+    @Override
+    public JsonFormat.Value findFormat(Annotated annotated) {
+      JsonFormat.Value format = super.findFormat(annotated);
+      if (format != null
+          && DateFormatPatternConstant.ZONED_DATE_TIME_FORMAT.equals(format.getPattern())) {
+        return JsonFormat.Value.forShape(JsonFormat.Shape.NUMBER);
+      }
+      return format;
+    }
+  }
+}
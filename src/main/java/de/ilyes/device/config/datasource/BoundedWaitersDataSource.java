@@ -0,0 +1,51 @@
+package de.ilyes.device.config.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+public class BoundedWaitersDataSource extends DelegatingDataSource {
+
+  private final Semaphore waiters;
+  private final int maxWaitingThreads;
+
+  public BoundedWaitersDataSource(DataSource targetDataSource, int maxWaitingThreads) {
+    super(targetDataSource);
+    this.maxWaitingThreads = maxWaitingThreads;
+    this.waiters = new Semaphore(maxWaitingThreads);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquireWaiterSlot();
+    try {
+      return super.getConnection();
+    } finally {
+      waiters.release();
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquireWaiterSlot();
+    try {
+      return super.getConnection(username, password);
+    } finally {
+      waiters.release();
+    }
+  }
+
+  public int getWaitingThreads() {
+    return maxWaitingThreads - waiters.availablePermits();
+  }
+
+  private void acquireWaiterSlot() throws SQLTransientConnectionException {
+    if (!waiters.tryAcquire()) {
+      throw new SQLTransientConnectionException(
+          "Too many threads waiting for a database connection (max " + maxWaitingThreads + ")");
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package de.ilyes.device.config.datasource;
+
+import de.ilyes.device.config.properties.DeviceDataSourceProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+@Configuration
+public class DataSourceConfiguration {
+
+  @Bean
+  static BeanPostProcessor boundedWaitersDataSourcePostProcessor(
+      ObjectProvider<DeviceDataSourceProperties> dataSourceProperties,
+      ObjectProvider<ReadReplica> readReplica) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource
+            && !(bean instanceof BoundedWaitersDataSource)
+            && !(bean instanceof LazyConnectionDataSourceProxy)) {
+          BoundedWaitersDataSource primaryDataSource =
+              new BoundedWaitersDataSource(
+                  dataSource, dataSourceProperties.getObject().getMaxWaitingThreads());
+          ReadReplica replica = readReplica.getIfAvailable();
+          if (replica == null) {
+            return primaryDataSource;
+          }
+          // Read-only transactions pick the replica when their first statement runs.
+          LazyConnectionDataSourceProxy routingDataSource =
+              new LazyConnectionDataSourceProxy(primaryDataSource);
+          routingDataSource.setReadOnlyDataSource(
+              new ReplicaFallbackDataSource(primaryDataSource, replica));
+          return routingDataSource;
+        }
+        return bean;
+      }
+    };
+  }
+
+  @Bean
+  @ConditionalOnProperty(prefix = "device.datasource.replica", name = "url")
+  ReadReplica readReplica(
+      DeviceDataSourceProperties dataSourceProperties, JdbcConnectionDetails connectionDetails) {
+    return new ReadReplica(
+        dataSourceProperties.getReplica(),
+        connectionDetails.getUsername(),
+        connectionDetails.getPassword());
+  }
+
+  @Bean
+  MeterBinder boundedWaitersDataSourceMetrics(DataSource dataSource) {
+    return registry -> {
+      try {
+        if (dataSource.isWrapperFor(BoundedWaitersDataSource.class)) {
+          BoundedWaitersDataSource boundedDataSource =
+              dataSource.unwrap(BoundedWaitersDataSource.class);
+          Gauge.builder(
+                  "device.datasource.waiting.threads",
+                  boundedDataSource,
+                  BoundedWaitersDataSource::getWaitingThreads)
+              .description("Threads currently waiting for a pooled database connection")
+              .register(registry);
+        }
+      } catch (SQLException ex) {
+        throw new IllegalStateException(ex);
+      }
+    };
+  }
+
+  @Bean
+  @ConditionalOnProperty(prefix = "device.datasource.replica", name = "url")
+  MeterBinder readReplicaMetrics(ReadReplica readReplica) {
+    return registry -> {
+      Gauge.builder("device.datasource.replica.lag", readReplica, ReadReplica::getLagSeconds)
+          .description("Replay lag of the read replica at its last health check")
+          .baseUnit("seconds")
+          .register(registry);
+      Gauge.builder(
+              "device.datasource.replica.available",
+              readReplica,
+              replica -> replica.isUsable() ? 1 : 0)
+          .description("Whether read-only transactions are currently routed to the replica")
+          .register(registry);
+    };
+  }
+}
@@ -0,0 +1,23 @@
+package de.ilyes.device.config.datasource;
+
+/**
+ * Marks the current thread as needing to read from the primary, for clients that must see their own
+ * writes even when the replica lags behind.
+ */
+public final class PrimaryReads {
+  private static final ThreadLocal<Boolean> REQUIRED = new ThreadLocal<>();
+
+  private PrimaryReads() {}
+
+  public static void require() {
+    REQUIRED.set(Boolean.TRUE);
+  }
+
+  public static boolean isRequired() {
+    return REQUIRED.get() != null;
+  }
+
+  public static void clear() {
+    REQUIRED.remove();
+  }
+}
@@ -0,0 +1,103 @@
+package de.ilyes.device.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import de.ilyes.device.config.properties.DeviceDataSourceProperties;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Connection pool of the read replica plus its last known health. The replica is used only while
+ * its last check succeeded and its replay lag was within {@code device.datasource.replica.max-lag};
+ * a failed connection attempt takes it out of rotation until the next successful check.
+ */
+public class ReadReplica implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(ReadReplica.class);
+
+  // An idle primary sends no WAL, so replay timestamps only mean lag while WAL is still pending.
+  private static final String REPLAY_LAG_SECONDS =
+      "SELECT CASE WHEN NOT pg_is_in_recovery() "
+          + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+          + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+  private final HikariDataSource dataSource;
+  private final Duration maxLag;
+  private volatile boolean reachable = true;
+  private volatile double lagSeconds;
+
+  public ReadReplica(
+      DeviceDataSourceProperties.Replica replicaProperties,
+      String defaultUsername,
+      String defaultPassword) {
+    this.maxLag = replicaProperties.getMaxLag();
+    this.dataSource = new HikariDataSource();
+    dataSource.setPoolName("device-replica");
+    dataSource.setJdbcUrl(replicaProperties.getUrl());
+    dataSource.setUsername(
+        replicaProperties.getUsername() != null
+            ? replicaProperties.getUsername()
+            : defaultUsername);
+    dataSource.setPassword(
+        replicaProperties.getPassword() != null
+            ? replicaProperties.getPassword()
+            : defaultPassword);
+    dataSource.setMaximumPoolSize(replicaProperties.getMaxPoolSize());
+    dataSource.setConnectionTimeout(replicaProperties.getConnectionTimeout().toMillis());
+    dataSource.setReadOnly(true);
+    dataSource.setInitializationFailTimeout(-1);
+  }
+
+  public boolean isUsable() {
+    return reachable && lagSeconds * 1000 <= maxLag.toMillis();
+  }
+
+  public boolean isReachable() {
+    return reachable;
+  }
+
+  public double getLagSeconds() {
+    return lagSeconds;
+  }
+
+  public Connection getConnection() throws SQLException {
+    try {
+      return dataSource.getConnection();
+    } catch (SQLException ex) {
+      markUnreachable(ex);
+      throw ex;
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${device.datasource.replica.health-check-interval:2s}")
+  public void checkHealth() {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(REPLAY_LAG_SECONDS)) {
+      resultSet.next();
+      lagSeconds = resultSet.getDouble(1);
+      if (!reachable) {
+        log.info("Read replica reachable again, lag {}s", lagSeconds);
+      }
+      reachable = true;
+    } catch (SQLException ex) {
+      markUnreachable(ex);
+    }
+  }
+
+  @Override
+  public void close() {
+    dataSource.close();
+  }
+
+  private void markUnreachable(SQLException ex) {
+    if (reachable) {
+      log.warn("Read replica unreachable, reading from the primary: {}", ex.getMessage());
+    }
+    reachable = false;
+  }
+}
@@ -0,0 +1,32 @@
+package de.ilyes.device.config.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Read-only side of the routing: hands out replica connections while the replica is usable and
+ * falls back to the primary otherwise, or when the caller asked for {@link PrimaryReads}.
+ */
+public class ReplicaFallbackDataSource extends DelegatingDataSource {
+
+  private final ReadReplica readReplica;
+
+  public ReplicaFallbackDataSource(DataSource primaryDataSource, ReadReplica readReplica) {
+    super(primaryDataSource);
+    this.readReplica = readReplica;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (!PrimaryReads.isRequired() && readReplica.isUsable()) {
+      try {
+        return readReplica.getConnection();
+      } catch (SQLException ex) {
+        return super.getConnection();
+      }
+    }
+    return super.getConnection();
+  }
+}
@@ -26,12 +26,10 @@ public class CorrelationIdRequestFilter implements Filter {
       correlationId = UUID.randomUUID().toString();
     }
     MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
-    chain.doFilter(request, response);
-  }
-
-  @Override
-  public void destroy() {
-    Filter.super.destroy();
-    MDC.remove(CORRELATION_ID_MDC_KEY);
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      MDC.remove(CORRELATION_ID_MDC_KEY);
+    }
   }
 }
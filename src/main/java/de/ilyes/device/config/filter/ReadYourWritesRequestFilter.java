@@ -0,0 +1,33 @@
+package de.ilyes.device.config.filter;
+
+import de.ilyes.device.config.datasource.PrimaryReads;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReadYourWritesRequestFilter implements Filter {
+  public static final String READ_YOUR_WRITES_HEADER_KEY = "X-Read-Your-Writes";
+
+  @Override
+  public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+      throws IOException, ServletException {
+
+    HttpServletRequest httpRequest = (HttpServletRequest) request;
+    if (!Boolean.parseBoolean(httpRequest.getHeader(READ_YOUR_WRITES_HEADER_KEY))) {
+      chain.doFilter(request, response);
+      return;
+    }
+    PrimaryReads.require();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      PrimaryReads.clear();
+    }
+  }
+}
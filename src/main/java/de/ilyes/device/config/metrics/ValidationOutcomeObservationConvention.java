@@ -0,0 +1,33 @@
+package de.ilyes.device.config.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tags {@code http.server.requests} with {@code validation=VALIDATION_ERROR} when request body
+ * validation failed. Validation runs before the resource method is invoked, so {@code
+ * device.resource.invocations} never sees these requests.
+ */
+@Component
+public class ValidationOutcomeObservationConvention
+    extends DefaultServerRequestObservationConvention {
+  public static final String VALIDATION_FAILED_ATTRIBUTE =
+      ValidationOutcomeObservationConvention.class.getName() + ".VALIDATION_FAILED";
+
+  static final String VALIDATION_KEY = "validation";
+
+  @Override
+  public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+    return super.getLowCardinalityKeyValues(context).and(validation(context));
+  }
+
+  private static KeyValue validation(ServerRequestObservationContext context) {
+    boolean failed =
+        context.getCarrier() != null
+            && context.getCarrier().getAttribute(VALIDATION_FAILED_ATTRIBUTE) != null;
+    return KeyValue.of(VALIDATION_KEY, failed ? "VALIDATION_ERROR" : "none");
+  }
+}
@@ -0,0 +1,12 @@
+package de.ilyes.device.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "device.batch")
+public class DeviceBatchProperties {
+  private int maxSize = 5000;
+  private int deleteChunkSize = 500;
+  private int maxLookupSize = 1000;
+}
@@ -0,0 +1,15 @@
+package de.ilyes.device.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "device.changes")
+public class DeviceChangesProperties {
+  private boolean enabled = true;
+  private int bufferSize = 256;
+  private Duration heartbeatInterval = Duration.ofSeconds(15);
+  private Duration subscriptionTimeout = Duration.ofMinutes(30);
+  private Duration reconnectDelay = Duration.ofSeconds(5);
+}
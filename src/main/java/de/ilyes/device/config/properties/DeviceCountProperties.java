@@ -0,0 +1,12 @@
+package de.ilyes.device.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "device.count")
+public class DeviceCountProperties {
+  private Duration cacheTtl = Duration.ofSeconds(10);
+  private long cacheMaxSize = 1000;
+}
@@ -0,0 +1,23 @@
+package de.ilyes.device.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "device.datasource")
+public class DeviceDataSourceProperties {
+  private int maxWaitingThreads = 200;
+  private Replica replica = new Replica();
+
+  @Data
+  public static class Replica {
+    private String url;
+    private String username;
+    private String password;
+    private int maxPoolSize = 10;
+    private Duration connectionTimeout = Duration.ofMillis(500);
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration healthCheckInterval = Duration.ofSeconds(2);
+  }
+}
@@ -0,0 +1,10 @@
+package de.ilyes.device.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "device.export")
+public class DeviceExportProperties {
+  private int fetchSize = 1000;
+}
@@ -0,0 +1,13 @@
+package de.ilyes.device.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "device.group-commit")
+public class DeviceGroupCommitProperties {
+  private boolean enabled = false;
+  private int maxBatchSize = 64;
+  private Duration maxDelay = Duration.ofMillis(2);
+}
@@ -0,0 +1,11 @@
+package de.ilyes.device.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "device.import")
+public class DeviceImportProperties {
+  private int chunkSize = 1000;
+  private int maxLineLength = 16384;
+}
@@ -0,0 +1,20 @@
+package de.ilyes.device.config.properties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "device.outbox")
+public class DeviceOutboxProperties {
+  private boolean enabled = true;
+  private String sink = "in-process";
+  private Duration pollInterval = Duration.ofMillis(500);
+  private int batchSize = 500;
+  private int maxBatchesPerRun = 20;
+  private Duration cleanupInterval = Duration.ofMinutes(1);
+  private Duration retention = Duration.ofHours(1);
+  private int cleanupBatchSize = 5000;
+  private Path filePath = Path.of("device-outbox.ndjson");
+}
@@ -0,0 +1,16 @@
+package de.ilyes.device.config.properties;
+
+import java.time.Duration;
+import java.time.Period;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "device.partitions")
+public class DevicePartitionProperties {
+  private boolean enabled = true;
+  private Duration maintenanceInterval = Duration.ofHours(1);
+  private int monthsBehind = 6;
+  private int monthsAhead = 3;
+  private Period archiveAfter;
+}
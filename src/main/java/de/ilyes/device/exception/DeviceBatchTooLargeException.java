@@ -0,0 +1,22 @@
+package de.ilyes.device.exception;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.http.HttpStatus;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class DeviceBatchTooLargeException extends DeviceTechnicalException {
+  public static final String DEVICE_BATCH_TOO_LARGE_ERROR_CODE = "DBL-001";
+  protected static final String DEVICE_BATCH_TOO_LARGE_ERROR_TYPE = "DEVICE_BATCH_TOO_LARGE";
+  protected static final String DEVICE_BATCH_TOO_LARGE_ERROR_MESSAGE =
+      "device batch exceeds the maximum allowed size of ";
+
+  public DeviceBatchTooLargeException(int maxSize) {
+    super(
+        DEVICE_BATCH_TOO_LARGE_ERROR_MESSAGE + maxSize + ".",
+        DEVICE_BATCH_TOO_LARGE_ERROR_CODE,
+        DEVICE_BATCH_TOO_LARGE_ERROR_TYPE,
+        HttpStatus.BAD_REQUEST);
+  }
+}
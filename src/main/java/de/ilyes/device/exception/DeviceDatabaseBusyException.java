@@ -0,0 +1,22 @@
+package de.ilyes.device.exception;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.http.HttpStatus;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class DeviceDatabaseBusyException extends DeviceTechnicalException {
+  public static final String DEVICE_DATABASE_BUSY_ERROR_CODE = "DDB-001";
+  protected static final String DEVICE_DATABASE_BUSY_ERROR_TYPE = "DEVICE_DATABASE_BUSY";
+  protected static final String DEVICE_DATABASE_BUSY_ERROR_MESSAGE =
+      "no database connection available, please retry later.";
+
+  public DeviceDatabaseBusyException() {
+    super(
+        DEVICE_DATABASE_BUSY_ERROR_MESSAGE,
+        DEVICE_DATABASE_BUSY_ERROR_CODE,
+        DEVICE_DATABASE_BUSY_ERROR_TYPE,
+        HttpStatus.SERVICE_UNAVAILABLE);
+  }
+}
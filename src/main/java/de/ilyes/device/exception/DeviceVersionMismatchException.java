@@ -0,0 +1,22 @@
+package de.ilyes.device.exception;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.http.HttpStatus;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class DeviceVersionMismatchException extends DeviceTechnicalException {
+  public static final String DEVICE_VERSION_MISMATCH_ERROR_CODE = "DVM-001";
+  protected static final String DEVICE_VERSION_MISMATCH_ERROR_TYPE = "DEVICE_VERSION_MISMATCH";
+  protected static final String DEVICE_VERSION_MISMATCH_ERROR_MESSAGE =
+      "device was modified by another request, If-Match does not match the current ETag.";
+
+  public DeviceVersionMismatchException() {
+    super(
+        DEVICE_VERSION_MISMATCH_ERROR_MESSAGE,
+        DEVICE_VERSION_MISMATCH_ERROR_CODE,
+        DEVICE_VERSION_MISMATCH_ERROR_TYPE,
+        HttpStatus.PRECONDITION_FAILED);
+  }
+}
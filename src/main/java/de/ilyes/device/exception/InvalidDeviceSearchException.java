@@ -0,0 +1,20 @@
+package de.ilyes.device.exception;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.http.HttpStatus;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class InvalidDeviceSearchException extends DeviceTechnicalException {
+  public static final String INVALID_DEVICE_SEARCH_ERROR_CODE = "IDS-001";
+  protected static final String INVALID_DEVICE_SEARCH_ERROR_TYPE = "INVALID_DEVICE_SEARCH";
+
+  public InvalidDeviceSearchException(String errorMessage) {
+    super(
+        errorMessage,
+        INVALID_DEVICE_SEARCH_ERROR_CODE,
+        INVALID_DEVICE_SEARCH_ERROR_TYPE,
+        HttpStatus.BAD_REQUEST);
+  }
+}
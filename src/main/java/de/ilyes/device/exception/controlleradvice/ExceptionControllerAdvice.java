@@ -3,15 +3,24 @@ package de.ilyes.device.exception.controlleradvice;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import de.ilyes.device.config.DateFormatPatternConstant;
 import de.ilyes.device.config.filter.CorrelationIdRequestFilter;
+import de.ilyes.device.config.metrics.ValidationOutcomeObservationConvention;
+import de.ilyes.device.exception.DeviceDatabaseBusyException;
 import de.ilyes.device.exception.DeviceTechnicalException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import java.sql.SQLTransientConnectionException;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -22,17 +31,26 @@ public class ExceptionControllerAdvice {
 
   private static final Logger log = LoggerFactory.getLogger(ExceptionControllerAdvice.class);
 
+  public static final String ERRORS_METRIC = "device.errors";
   public static final String INTERNAL_ERROR_CODE = "IED-001";
   public static final String VALIDATION_DEVICE_ERROR_CODE = "VED-001";
   public static final String INVALID_REQUEST_BODY_ERROR_CODE = "IRBED-001";
 
+  protected static final String DATABASE_BUSY_RETRY_AFTER_SECONDS = "1";
   protected static final String VALIDATION_ERROR_TYPE = "VALIDATION_ERROR";
   protected static final String INVALID_REQUEST_BODY_ERROR_TYPE = "INVALID_REQUEST_BODY_ERROR";
   protected static final String INTERNAL_ERROR_TYPE = "INTERNAL_ERROR";
 
+  private final MeterRegistry meterRegistry;
+
+  public ExceptionControllerAdvice(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<ErrorResponseDto> handleValidationExceptions(
-      MethodArgumentNotValidException ex) {
+      MethodArgumentNotValidException ex, HttpServletRequest request) {
+    request.setAttribute(ValidationOutcomeObservationConvention.VALIDATION_FAILED_ATTRIBUTE, true);
 
     final String[] errorMessage = {""};
 
@@ -54,7 +72,7 @@ public class ExceptionControllerAdvice {
             .correlationId(MDC.get(CorrelationIdRequestFilter.CORRELATION_ID_MDC_KEY))
             .build();
 
-    return new ResponseEntity<>(errorResponseDto, HttpStatus.BAD_REQUEST);
+    return respond(errorResponseDto, HttpStatus.BAD_REQUEST);
   }
 
   @ExceptionHandler({HttpMessageNotReadableException.class, MismatchedInputException.class})
@@ -70,7 +88,23 @@ public class ExceptionControllerAdvice {
             .correlationId(MDC.get(CorrelationIdRequestFilter.CORRELATION_ID_MDC_KEY))
             .build();
 
-    return new ResponseEntity<>(errorResponseDto, HttpStatus.BAD_REQUEST);
+    return respond(errorResponseDto, HttpStatus.BAD_REQUEST);
+  }
+
+  @ExceptionHandler({
+    CannotCreateTransactionException.class,
+    DataAccessResourceFailureException.class
+  })
+  public ResponseEntity<ErrorResponseDto> handleConnectionAcquisitionException(
+      RuntimeException ex) {
+    if (!(NestedExceptionUtils.getRootCause(ex) instanceof SQLTransientConnectionException)) {
+      return handleRuntimeException(ex);
+    }
+    ResponseEntity<ErrorResponseDto> response =
+        handleRuntimeException(new DeviceDatabaseBusyException());
+    return ResponseEntity.status(response.getStatusCode())
+        .header(HttpHeaders.RETRY_AFTER, DATABASE_BUSY_RETRY_AFTER_SECONDS)
+        .body(response.getBody());
   }
 
   @ExceptionHandler(RuntimeException.class)
@@ -84,7 +118,7 @@ public class ExceptionControllerAdvice {
             .correlationId(MDC.get(CorrelationIdRequestFilter.CORRELATION_ID_MDC_KEY))
             .build();
 
-    return new ResponseEntity<>(errorResponseDto, HttpStatus.INTERNAL_SERVER_ERROR);
+    return respond(errorResponseDto, HttpStatus.INTERNAL_SERVER_ERROR);
   }
 
   @ExceptionHandler(DeviceTechnicalException.class)
@@ -98,11 +132,26 @@ public class ExceptionControllerAdvice {
             .correlationId(MDC.get(CorrelationIdRequestFilter.CORRELATION_ID_MDC_KEY))
             .build();
 
-    return new ResponseEntity<>(
+    return respond(
         errorResponseDto,
         ex.getHttpStatus() != null ? ex.getHttpStatus() : HttpStatus.INTERNAL_SERVER_ERROR);
   }
 
+  private ResponseEntity<ErrorResponseDto> respond(
+      ErrorResponseDto errorResponseDto, HttpStatus status) {
+    meterRegistry
+        .counter(
+            ERRORS_METRIC,
+            "errorCode",
+            errorResponseDto.getErrorCode(),
+            "errorType",
+            errorResponseDto.getErrorType(),
+            "status",
+            String.valueOf(status.value()))
+        .increment();
+    return new ResponseEntity<>(errorResponseDto, status);
+  }
+
   private String formatErrorMessageForMismatchedInputException(RuntimeException ex) {
     String errorMessage;
     if (ex.getMessage().contains("java.time.ZonedDateTime")) {
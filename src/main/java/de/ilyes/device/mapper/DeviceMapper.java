@@ -7,16 +7,20 @@ import de.ilyes.device.mapper.dto.DeviceUpdateDto;
 import de.ilyes.device.repository.entity.DeviceEntity;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
 public interface DeviceMapper {
   DeviceDto toDto(DeviceEntity entity);
 
+  @Mapping(target = "version", ignore = true)
   DeviceEntity toEntity(DeviceCreationDto dto);
 
+  @Mapping(target = "version", ignore = true)
   void updateEntity(DeviceUpdateDto dto, @MappingTarget DeviceEntity entity);
 
+  @Mapping(target = "version", ignore = true)
   @BeanMapping(
       nullValuePropertyMappingStrategy = org.mapstruct.NullValuePropertyMappingStrategy.IGNORE)
   void patchEntity(DevicePatchDto dto, @MappingTarget DeviceEntity entity);
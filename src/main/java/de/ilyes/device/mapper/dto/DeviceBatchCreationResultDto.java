@@ -0,0 +1,20 @@
+package de.ilyes.device.mapper.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceBatchCreationResultDto {
+
+  @Schema(example = "2")
+  private int created;
+
+  @Schema(example = "1")
+  private int rejected;
+
+  private List<DeviceBatchItemResultDto> items;
+}
@@ -0,0 +1,25 @@
+package de.ilyes.device.mapper.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceBatchItemResultDto {
+
+  @Schema(example = "0")
+  private int index;
+
+  @Schema(example = "CREATED")
+  private DeviceBatchItemStatus status;
+
+  private DeviceDto device;
+
+  @Schema(example = "VED-001")
+  private String errorCode;
+
+  @Schema(example = "name : Device name must not be blank")
+  private String errorMessage;
+}
@@ -0,0 +1,6 @@
+package de.ilyes.device.mapper.dto;
+
+public enum DeviceBatchItemStatus {
+  CREATED,
+  REJECTED
+}
@@ -0,0 +1,31 @@
+package de.ilyes.device.mapper.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import de.ilyes.device.config.DateFormatPatternConstant;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import java.time.ZonedDateTime;
+import java.util.List;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceBulkDeletionDto {
+
+  @Schema(example = "[1, 2, 3]")
+  private List<@NotNull(message = "Device ids must not contain null") Long> ids;
+
+  @Schema(example = "SmartphoneBrand")
+  private String brand;
+
+  @Schema(example = "Smartphone")
+  private String name;
+
+  @Schema(example = "2025-01-01T00:00:00.000Z")
+  @JsonFormat(
+      shape = JsonFormat.Shape.STRING,
+      pattern = DateFormatPatternConstant.ZONED_DATE_TIME_FORMAT)
+  private ZonedDateTime createdTo;
+}
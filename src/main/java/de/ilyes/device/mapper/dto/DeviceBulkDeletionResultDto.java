@@ -0,0 +1,21 @@
+package de.ilyes.device.mapper.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceBulkDeletionResultDto {
+
+  @Schema(example = "2")
+  private int deleted;
+
+  @Schema(description = "Devices left in place because they are IN_USE", example = "[3]")
+  private List<Long> rejectedIds;
+
+  @Schema(example = "[4]")
+  private List<Long> notFoundIds;
+}
@@ -0,0 +1,22 @@
+package de.ilyes.device.mapper.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeviceChangeEventDto {
+
+  @Schema(example = "UPDATED")
+  private DeviceChangeType type;
+
+  @Schema(description = "The device after the change, or as it was before a deletion")
+  private DeviceDto device;
+
+  @Schema(example = "AVAILABLE", description = "State before an update or deletion")
+  private DeviceState previousState;
+}
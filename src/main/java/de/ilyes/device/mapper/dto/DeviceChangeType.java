@@ -0,0 +1,7 @@
+package de.ilyes.device.mapper.dto;
+
+public enum DeviceChangeType {
+  CREATED,
+  UPDATED,
+  DELETED
+}
@@ -0,0 +1,33 @@
+package de.ilyes.device.mapper.dto;
+
+import de.ilyes.device.exception.InvalidDeviceSearchException;
+import java.util.Arrays;
+import lombok.Getter;
+
+@Getter
+public enum DeviceCountMode {
+  EXACT("exact"),
+  NONE("none"),
+  ESTIMATE("estimate"),
+  CACHED("cached");
+
+  private final String value;
+
+  DeviceCountMode(String value) {
+    this.value = value;
+  }
+
+  public static DeviceCountMode fromValue(String value) {
+    if (value == null) {
+      return EXACT;
+    }
+    return Arrays.stream(values())
+        .filter(countMode -> countMode.value.equalsIgnoreCase(value))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new InvalidDeviceSearchException(
+                    "Wrong value for count parameter. values accepted are: "
+                        + "[exact, none, estimate, cached]"));
+  }
+}
@@ -0,0 +1,17 @@
+package de.ilyes.device.mapper.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceCursorPageDto {
+
+  private List<DeviceDto> content;
+
+  @Schema(example = "djF8bmFtZXxBU0N8NDJ8U21hcnRwaG9uZQ")
+  private String nextCursor;
+}
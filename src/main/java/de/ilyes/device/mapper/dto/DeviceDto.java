@@ -1,6 +1,8 @@
 package de.ilyes.device.mapper.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import de.ilyes.device.config.DateFormatPatternConstant;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.ZonedDateTime;
@@ -10,6 +12,7 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class DeviceDto {
 
   @Schema(example = "1")
@@ -29,4 +32,6 @@ public class DeviceDto {
       shape = JsonFormat.Shape.STRING,
       pattern = DateFormatPatternConstant.ZONED_DATE_TIME_FORMAT)
   private ZonedDateTime creationTime;
+
+  @JsonIgnore private Long version;
 }
@@ -0,0 +1,29 @@
+package de.ilyes.device.mapper.dto;
+
+import de.ilyes.device.exception.InvalidDeviceSearchException;
+import java.util.Arrays;
+import lombok.Getter;
+
+@Getter
+public enum DeviceExportFormat {
+  NDJSON("ndjson", "application/x-ndjson"),
+  CSV("csv", "text/csv");
+
+  private final String value;
+  private final String mediaType;
+
+  DeviceExportFormat(String value, String mediaType) {
+    this.value = value;
+    this.mediaType = mediaType;
+  }
+
+  public static DeviceExportFormat fromValue(String value) {
+    return Arrays.stream(values())
+        .filter(format -> format.value.equalsIgnoreCase(value))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new InvalidDeviceSearchException(
+                    "Wrong value for format parameter. values accepted are: [ndjson, csv]"));
+  }
+}
@@ -0,0 +1,45 @@
+package de.ilyes.device.mapper.dto;
+
+import de.ilyes.device.exception.InvalidDeviceSearchException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import lombok.Getter;
+
+@Getter
+public enum DeviceField {
+  ID("id"),
+  NAME("name"),
+  BRAND("brand"),
+  DEVICE_STATE("deviceState"),
+  CREATION_TIME("creationTime");
+
+  private final String value;
+
+  DeviceField(String value) {
+    this.value = value;
+  }
+
+  /** Parses a comma separated field list; the id is always part of the result. */
+  public static Set<DeviceField> fromValues(String values) {
+    if (values == null || values.isBlank()) {
+      return null;
+    }
+    Set<DeviceField> fields = EnumSet.of(ID);
+    for (String value : values.split(",")) {
+      fields.add(fromValue(value.trim()));
+    }
+    return fields;
+  }
+
+  public static DeviceField fromValue(String value) {
+    return Arrays.stream(values())
+        .filter(field -> field.value.equalsIgnoreCase(value))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new InvalidDeviceSearchException(
+                    "Wrong value for fields parameter. values accepted are: "
+                        + "[id, name, brand, deviceState, creationTime]"));
+  }
+}
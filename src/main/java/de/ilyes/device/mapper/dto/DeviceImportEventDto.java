@@ -0,0 +1,34 @@
+package de.ilyes.device.mapper.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeviceImportEventDto {
+
+  @Schema(example = "PROGRESS")
+  private DeviceImportEventType type;
+
+  @Schema(example = "42")
+  private Long line;
+
+  @Schema(example = "1000")
+  private Long processed;
+
+  @Schema(example = "998")
+  private Long imported;
+
+  @Schema(example = "2")
+  private Long rejected;
+
+  @Schema(example = "VED-001")
+  private String errorCode;
+
+  @Schema(example = "name : Device name must not be blank")
+  private String errorMessage;
+}
@@ -0,0 +1,8 @@
+package de.ilyes.device.mapper.dto;
+
+public enum DeviceImportEventType {
+  REJECTED,
+  PROGRESS,
+  FAILED,
+  COMPLETED
+}
@@ -0,0 +1,17 @@
+package de.ilyes.device.mapper.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceLookupResultDto {
+
+  private List<DeviceDto> devices;
+
+  @Schema(example = "[4]")
+  private List<Long> missingIds;
+}
@@ -0,0 +1,33 @@
+package de.ilyes.device.mapper.dto;
+
+import de.ilyes.device.exception.InvalidDeviceSearchException;
+import java.util.Arrays;
+import lombok.Getter;
+
+@Getter
+public enum DeviceMatchMode {
+  EXACT("exact"),
+  PREFIX("prefix"),
+  CONTAINS("contains"),
+  FUZZY("fuzzy");
+
+  private final String value;
+
+  DeviceMatchMode(String value) {
+    this.value = value;
+  }
+
+  public static DeviceMatchMode fromValue(String value) {
+    if (value == null) {
+      return null;
+    }
+    return Arrays.stream(values())
+        .filter(matchMode -> matchMode.value.equalsIgnoreCase(value))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new InvalidDeviceSearchException(
+                    "Wrong value for match parameter. values accepted are: "
+                        + "[exact, prefix, contains, fuzzy]"));
+  }
+}
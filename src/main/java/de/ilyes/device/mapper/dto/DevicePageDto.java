@@ -0,0 +1,27 @@
+package de.ilyes.device.mapper.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DevicePageDto {
+
+  private List<DeviceDto> content;
+
+  @Schema(example = "0")
+  private int page;
+
+  @Schema(example = "20")
+  private int size;
+
+  private boolean hasNext;
+
+  @Schema(description = "Omitted with count=none", example = "42")
+  private Long total;
+}
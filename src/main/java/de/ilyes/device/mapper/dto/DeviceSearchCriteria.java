@@ -0,0 +1,34 @@
+package de.ilyes.device.mapper.dto;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceSearchCriteria {
+
+  private String brand;
+
+  private String name;
+
+  private DeviceMatchMode match;
+
+  private DeviceState deviceState;
+
+  private ZonedDateTime createdFrom;
+
+  private ZonedDateTime createdTo;
+
+  /** Fields to load and return, all of them when null. */
+  private Set<DeviceField> fields;
+
+  /** Every filter that changes which devices match, for caching counts per filter. */
+  public List<Object> countKey() {
+    return Arrays.asList(match, brand, name, deviceState, createdFrom, createdTo);
+  }
+}
@@ -1,5 +1,7 @@
 package de.ilyes.device.mapper.dto;
 
+import de.ilyes.device.exception.InvalidDeviceSearchException;
+import java.util.Arrays;
 import lombok.Getter;
 
 @Getter
@@ -13,4 +15,18 @@ public enum DeviceState {
   DeviceState(String value) {
     this.value = value;
   }
+
+  public static DeviceState fromValue(String value) {
+    if (value == null) {
+      return null;
+    }
+    return Arrays.stream(values())
+        .filter(state -> state.value.equalsIgnoreCase(value))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new InvalidDeviceSearchException(
+                    "Wrong value for state parameter. values accepted are: "
+                        + "[AVAILABLE, IN_USE, INACTIVE]"));
+  }
 }
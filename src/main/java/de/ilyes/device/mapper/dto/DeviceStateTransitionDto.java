@@ -0,0 +1,26 @@
+package de.ilyes.device.mapper.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceStateTransitionDto {
+
+  @Schema(example = "[1, 2, 3]")
+  private List<@NotNull(message = "Device ids must not contain null") Long> ids;
+
+  @Schema(example = "SmartphoneBrand")
+  private String brand;
+
+  @Schema(example = "Smartphone")
+  private String name;
+
+  @NotNull(message = "Device deviceState must not be null")
+  @Schema(example = "AVAILABLE")
+  private DeviceState deviceState;
+}
@@ -0,0 +1,22 @@
+package de.ilyes.device.mapper.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceStateTransitionItemDto {
+
+  @Schema(example = "1")
+  private Long id;
+
+  @Schema(example = "UPDATED")
+  private DeviceStateTransitionStatus status;
+
+  private DeviceDto device;
+
+  @Schema(example = "DNF-001")
+  private String errorCode;
+}
@@ -0,0 +1,20 @@
+package de.ilyes.device.mapper.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceStateTransitionResultDto {
+
+  @Schema(example = "2")
+  private int updated;
+
+  @Schema(example = "1")
+  private int notFound;
+
+  private List<DeviceStateTransitionItemDto> items;
+}
@@ -0,0 +1,15 @@
+package de.ilyes.device.mapper.dto;
+
+import java.util.Map;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceStatsDto {
+
+  private long total;
+
+  private Map<DeviceState, Long> byState;
+}
@@ -10,6 +10,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.Instant;
@@ -26,9 +27,14 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Builder
 public class DeviceEntity {
 
+  public static final int ID_ALLOCATION_SIZE = 50;
+
   @Id
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "device_id_seq")
-  @SequenceGenerator(name = "device_id_seq", sequenceName = "device_id_seq", allocationSize = 1)
+  @SequenceGenerator(
+      name = "device_id_seq",
+      sequenceName = "device_id_seq",
+      allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
 
   @NotBlank(message = "Device name is mandatory")
@@ -48,4 +54,6 @@ public class DeviceEntity {
   @CreationTimestamp private Instant createdOn;
 
   @UpdateTimestamp private Instant lastUpdatedOn;
+
+  @Version private Long version;
 }
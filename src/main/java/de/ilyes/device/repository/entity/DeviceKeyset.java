@@ -0,0 +1,19 @@
+package de.ilyes.device.repository.entity;
+
+import lombok.*;
+import org.springframework.data.domain.Sort;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceKeyset {
+
+  private DeviceSortColumn sortColumn;
+
+  private Sort.Direction direction;
+
+  private Object lastValue;
+
+  private Long lastId;
+}
@@ -1,14 +1,34 @@
 package de.ilyes.device.repository.entity;
 
+import de.ilyes.device.mapper.dto.DeviceDto;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
-public interface DeviceRepository extends JpaRepository<DeviceEntity, Long> {
+public interface DeviceRepository
+    extends JpaRepository<DeviceEntity, Long>, DeviceRepositoryCustom {
+  String DEVICE_DTO_PROJECTION =
+      "SELECT new de.ilyes.device.mapper.dto.DeviceDto("
+          + "d.id, d.name, d.brand, d.deviceState, d.creationTime, d.version) ";
+
+  String BRAND_OR_NAME_FILTER =
+      "WHERE (COALESCE(:brand, '') = '' OR LOWER(d.brand) LIKE LOWER(:brand)) "
+          + "AND (COALESCE(:name, '') = '' OR LOWER(d.name) LIKE LOWER(:name))";
+
   @Query(
-      "SELECT d FROM DeviceEntity d "
-          + "WHERE (COALESCE(:brand, '') = '' OR LOWER(d.brand) LIKE LOWER(:brand)) "
-          + "AND (COALESCE(:name, '') = '' OR LOWER(d.name) LIKE LOWER(:name))")
-  Page<DeviceEntity> findByBrandOrName(String brand, String name, Pageable pageable);
+      value = DEVICE_DTO_PROJECTION + "FROM DeviceEntity d " + BRAND_OR_NAME_FILTER,
+      countQuery = "SELECT COUNT(d) FROM DeviceEntity d " + BRAND_OR_NAME_FILTER)
+  Page<DeviceDto> findByBrandOrName(String brand, String name, Pageable pageable);
+
+  @Query(DEVICE_DTO_PROJECTION + "FROM DeviceEntity d " + BRAND_OR_NAME_FILTER)
+  Slice<DeviceDto> findSliceByBrandOrName(String brand, String name, Pageable pageable);
+
+  @Query(DEVICE_DTO_PROJECTION + "FROM DeviceEntity d WHERE d.id = :id")
+  Optional<DeviceDto> findDtoById(Long id);
+
+  @Query("SELECT d.version FROM DeviceEntity d WHERE d.id = :id")
+  Optional<Long> findVersionById(Long id);
 }
@@ -0,0 +1,51 @@
+package de.ilyes.device.repository.entity;
+
+import de.ilyes.device.mapper.dto.DeviceDto;
+import de.ilyes.device.mapper.dto.DeviceField;
+import de.ilyes.device.mapper.dto.DeviceSearchCriteria;
+import de.ilyes.device.mapper.dto.DeviceState;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface DeviceRepositoryCustom {
+  Page<DeviceDto> findByCriteria(DeviceSearchCriteria criteria, Pageable pageable);
+
+  Slice<DeviceDto> findSliceByCriteria(DeviceSearchCriteria criteria, Pageable pageable);
+
+  long countByCriteria(DeviceSearchCriteria criteria);
+
+  long estimateCountByCriteria(DeviceSearchCriteria criteria);
+
+  List<DeviceDto> findByCriteriaAfter(
+      DeviceSearchCriteria criteria, DeviceKeyset keyset, int limit);
+
+  Optional<DeviceEntity> updateIfAllowed(
+      Long id, String name, String brand, DeviceState deviceState, Long expectedVersion);
+
+  List<DeviceDto> transitionStates(Collection<Long> ids, DeviceState deviceState);
+
+  List<Long> findIdsByCriteria(DeviceSearchCriteria criteria, Long afterId, int limit);
+
+  boolean deleteIfNotInUse(Long id, Long expectedVersion);
+
+  Map<Long, Boolean> deleteAllIfNotInUse(Collection<Long> ids);
+
+  void streamByCriteria(DeviceSearchCriteria criteria, Consumer<DeviceDto> consumer);
+
+  void insertAll(List<DeviceEntity> devices);
+
+  List<DeviceDto> findByIds(Collection<Long> ids, Set<DeviceField> fields);
+
+  List<DeviceDto> findByIdsInState(
+      Collection<Long> ids, DeviceState deviceState, Set<DeviceField> fields);
+
+  void streamDeviceStates(BiConsumer<Long, DeviceState> consumer);
+}
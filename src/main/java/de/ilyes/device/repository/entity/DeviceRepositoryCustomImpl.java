@@ -0,0 +1,550 @@
+package de.ilyes.device.repository.entity;
+
+import de.ilyes.device.config.properties.DeviceExportProperties;
+import de.ilyes.device.exception.InvalidDeviceSearchException;
+import de.ilyes.device.mapper.dto.DeviceDto;
+import de.ilyes.device.mapper.dto.DeviceField;
+import de.ilyes.device.mapper.dto.DeviceMatchMode;
+import de.ilyes.device.mapper.dto.DeviceSearchCriteria;
+import de.ilyes.device.mapper.dto.DeviceState;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.util.StringUtils;
+
+public class DeviceRepositoryCustomImpl implements DeviceRepositoryCustom {
+
+  private static final String DEVICE_COLUMNS =
+      "id, name, brand, device_state, creation_time, created_on, last_updated_on, version";
+
+  // Same rule as the former read-modify-write check: name and brand cannot change while the
+  // device is IN_USE, unless the same request moves it out of IN_USE.
+  private static final String IN_USE_UPDATE_GUARD =
+      "(device_state <> 'IN_USE' "
+          + "OR COALESCE(CAST(:deviceState AS VARCHAR), 'IN_USE') <> 'IN_USE' "
+          + "OR ((CAST(:name AS VARCHAR) IS NULL OR name = :name) "
+          + "AND (CAST(:brand AS VARCHAR) IS NULL OR brand = :brand)))";
+
+  private static final String EXPECTED_VERSION_GUARD =
+      "(CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion)";
+
+  private static final String UPDATE_DEVICE_IF_ALLOWED =
+      "UPDATE devices SET "
+          + "name = COALESCE(CAST(:name AS VARCHAR), name), "
+          + "brand = COALESCE(CAST(:brand AS VARCHAR), brand), "
+          + "device_state = COALESCE(CAST(:deviceState AS VARCHAR), device_state), "
+          + "last_updated_on = CURRENT_TIMESTAMP, "
+          + "version = version + 1 "
+          + "WHERE id = :id AND "
+          + IN_USE_UPDATE_GUARD
+          + " AND "
+          + EXPECTED_VERSION_GUARD
+          + " RETURNING "
+          + DEVICE_COLUMNS;
+
+  // A state-only change never touches name or brand, so IN_USE_UPDATE_GUARD cannot refuse it.
+  private static final String TRANSITION_DEVICE_STATES =
+      "UPDATE devices SET "
+          + "device_state = :deviceState, "
+          + "last_updated_on = CURRENT_TIMESTAMP, "
+          + "version = version + 1 "
+          + "WHERE id = ANY(:ids) "
+          + "RETURNING id, name, brand, device_state, creation_time, version";
+
+  private static final String DELETE_DEVICE_IF_NOT_IN_USE =
+      "DELETE FROM devices WHERE id = :id AND device_state <> 'IN_USE' AND "
+          + EXPECTED_VERSION_GUARD;
+
+  // Reports every id that still existed together with whether it was deleted; IN_USE devices are
+  // left in place.
+  private static final String DELETE_DEVICES_IF_NOT_IN_USE =
+      "WITH deleted AS (DELETE FROM devices WHERE id = ANY(:ids) AND device_state <> 'IN_USE' "
+          + "RETURNING id) "
+          + "SELECT d.id, d.id IN (SELECT id FROM deleted) AS deleted FROM devices d "
+          + "WHERE d.id = ANY(:ids)";
+
+  private static final String SELECT_DEVICE_DTOS =
+      "SELECT id, name, brand, device_state, creation_time, version FROM devices";
+
+  private static final String BY_IDS = " WHERE id = ANY(:ids) ORDER BY id";
+
+  private static final String BY_IDS_IN_STATE =
+      " WHERE id = ANY(:ids) AND device_state = :deviceState ORDER BY id";
+
+  private static final String SELECT_DEVICE_STATES = "SELECT id, device_state FROM devices";
+
+  // Planner statistics live on the partitions; a partition reports -1 until it has been vacuumed
+  // or analyzed once, and the sum is NULL while none has.
+  private static final String TABLE_ROW_ESTIMATE =
+      "SELECT SUM(c.reltuples)::BIGINT FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+          + "WHERE i.inhparent = 'devices'::regclass AND c.reltuples >= 0";
+
+  private static final Pattern PLAN_ROWS = Pattern.compile(" rows=(\\d+)");
+
+  // Each value handed out by the pooled sequence is the upper bound of a block of
+  // ID_ALLOCATION_SIZE ids, the same contract Hibernate's pooled optimizer relies on.
+  private static final String NEXT_DEVICE_ID_BLOCKS =
+      "SELECT nextval('device_id_seq') FROM generate_series(1, :blocks)";
+
+  private static final String INSERT_DEVICE =
+      "INSERT INTO devices (id, name, brand, device_state, creation_time, version) "
+          + "VALUES (:id, :name, :brand, :deviceState, :creationTime, 0)";
+
+  private static final RowMapper<DeviceEntity> DEVICE_ENTITY_ROW_MAPPER =
+      DeviceRepositoryCustomImpl::mapDeviceEntity;
+
+  private static final RowMapper<DeviceDto> DEVICE_DTO_ROW_MAPPER =
+      DeviceRepositoryCustomImpl::mapDeviceDto;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+
+  private long nextPooledId = 1;
+  private long lastPooledId;
+
+  public DeviceRepositoryCustomImpl(
+      NamedParameterJdbcTemplate jdbcTemplate, DeviceExportProperties exportProperties) {
+    this.jdbcTemplate = jdbcTemplate;
+    JdbcTemplate fetchSizeJdbcTemplate =
+        new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+    fetchSizeJdbcTemplate.setFetchSize(exportProperties.getFetchSize());
+    this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(fetchSizeJdbcTemplate);
+  }
+
+  @Override
+  public Page<DeviceDto> findByCriteria(DeviceSearchCriteria criteria, Pageable pageable) {
+    List<DeviceDto> content = findContentByCriteria(criteria, pageable, 0);
+    return PageableExecutionUtils.getPage(content, pageable, () -> countByCriteria(criteria));
+  }
+
+  @Override
+  public Slice<DeviceDto> findSliceByCriteria(DeviceSearchCriteria criteria, Pageable pageable) {
+    List<DeviceDto> content = findContentByCriteria(criteria, pageable, 1);
+    boolean hasNext = pageable.isPaged() && content.size() > pageable.getPageSize();
+    if (hasNext) {
+      content = content.subList(0, pageable.getPageSize());
+    }
+    return new SliceImpl<>(content, pageable, hasNext);
+  }
+
+  @Override
+  public long countByCriteria(DeviceSearchCriteria criteria) {
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM devices WHERE TRUE");
+    appendCriteria(sql, params, criteria);
+    return jdbcTemplate.queryForObject(sql.toString(), params, Long.class);
+  }
+
+  @Override
+  public long estimateCountByCriteria(DeviceSearchCriteria criteria) {
+    if (!StringUtils.hasLength(criteria.getBrand())
+        && !StringUtils.hasLength(criteria.getName())
+        && criteria.getDeviceState() == null
+        && criteria.getCreatedFrom() == null
+        && criteria.getCreatedTo() == null) {
+      Long reltuples =
+          jdbcTemplate.getJdbcTemplate().queryForObject(TABLE_ROW_ESTIMATE, Long.class);
+      if (reltuples != null && reltuples >= 0) {
+        return reltuples;
+      }
+    }
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    StringBuilder sql = new StringBuilder("EXPLAIN SELECT 1 FROM devices WHERE TRUE");
+    appendCriteria(sql, params, criteria);
+    List<String> plan = jdbcTemplate.queryForList(sql.toString(), params, String.class);
+    Matcher matcher = PLAN_ROWS.matcher(plan.isEmpty() ? "" : plan.get(0));
+    if (!matcher.find()) {
+      return countByCriteria(criteria);
+    }
+    return Long.parseLong(matcher.group(1));
+  }
+
+  private List<DeviceDto> findContentByCriteria(
+      DeviceSearchCriteria criteria, Pageable pageable, int extraRows) {
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    StringBuilder sql = new StringBuilder(selectDeviceDtos(criteria.getFields()));
+    sql.append(" WHERE TRUE");
+    appendCriteria(sql, params, criteria);
+
+    List<String> orderBy = new ArrayList<>();
+    if (criteria.getMatch() == DeviceMatchMode.FUZZY) {
+      similarityScore(criteria).ifPresent(score -> orderBy.add(score + " DESC"));
+    }
+    boolean sortedById = false;
+    for (Sort.Order order : pageable.getSort()) {
+      DeviceSortColumn sortColumn =
+          DeviceSortColumn.fromProperty(order.getProperty())
+              .orElseThrow(
+                  () ->
+                      new InvalidDeviceSearchException(
+                          "Unsupported sort property: " + order.getProperty()));
+      orderBy.add(sortColumn.getColumn() + (order.isAscending() ? " ASC" : " DESC"));
+      sortedById |= sortColumn == DeviceSortColumn.ID;
+    }
+    if (!sortedById) {
+      orderBy.add("id ASC");
+    }
+    sql.append(" ORDER BY ").append(String.join(", ", orderBy));
+    if (pageable.isPaged()) {
+      sql.append(" LIMIT :limit OFFSET :offset");
+      params.addValue("limit", pageable.getPageSize() + extraRows);
+      params.addValue("offset", pageable.getOffset());
+    }
+    return jdbcTemplate.query(sql.toString(), params, deviceDtoRowMapper(criteria.getFields()));
+  }
+
+  @Override
+  public List<DeviceDto> findByCriteriaAfter(
+      DeviceSearchCriteria criteria, DeviceKeyset keyset, int limit) {
+    // The next cursor is built from the sort value of the last device, so it is always loaded.
+    Set<DeviceField> fields = criteria.getFields();
+    if (fields != null) {
+      fields = EnumSet.copyOf(fields);
+      fields.add(keyset.getSortColumn().getField());
+    }
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    StringBuilder sql = new StringBuilder(selectDeviceDtos(fields));
+    sql.append(" WHERE TRUE");
+    appendCriteria(sql, params, criteria);
+
+    String column = keyset.getSortColumn().getColumn();
+    boolean ascending = keyset.getDirection().isAscending();
+    String comparator = ascending ? " > " : " < ";
+    if (keyset.getLastId() != null) {
+      if (keyset.getSortColumn() == DeviceSortColumn.ID) {
+        sql.append(" AND id").append(comparator).append(":lastId");
+      } else {
+        sql.append(" AND (").append(column).append(", id)").append(comparator);
+        sql.append("(:lastValue, :lastId)");
+        params.addValue("lastValue", keyset.getLastValue());
+      }
+      params.addValue("lastId", keyset.getLastId());
+    }
+
+    String direction = ascending ? " ASC" : " DESC";
+    sql.append(" ORDER BY ").append(column).append(direction);
+    if (keyset.getSortColumn() != DeviceSortColumn.ID) {
+      sql.append(", id").append(direction);
+    }
+    sql.append(" LIMIT :limit");
+    params.addValue("limit", limit);
+
+    return jdbcTemplate.query(sql.toString(), params, deviceDtoRowMapper(fields));
+  }
+
+  @Override
+  public Optional<DeviceEntity> updateIfAllowed(
+      Long id, String name, String brand, DeviceState deviceState, Long expectedVersion) {
+    MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("id", id)
+            .addValue("name", name, Types.VARCHAR)
+            .addValue("brand", brand, Types.VARCHAR)
+            .addValue("deviceState", deviceState != null ? deviceState.name() : null, Types.VARCHAR)
+            .addValue("expectedVersion", expectedVersion, Types.BIGINT);
+    return jdbcTemplate.query(UPDATE_DEVICE_IF_ALLOWED, params, DEVICE_ENTITY_ROW_MAPPER).stream()
+        .findFirst();
+  }
+
+  @Override
+  public List<DeviceDto> transitionStates(Collection<Long> ids, DeviceState deviceState) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("ids", ids.toArray(Long[]::new))
+            .addValue("deviceState", deviceState.name(), Types.VARCHAR);
+    return jdbcTemplate.query(TRANSITION_DEVICE_STATES, params, DEVICE_DTO_ROW_MAPPER);
+  }
+
+  @Override
+  public List<Long> findIdsByCriteria(DeviceSearchCriteria criteria, Long afterId, int limit) {
+    MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+    StringBuilder sql = new StringBuilder("SELECT id FROM devices WHERE TRUE");
+    appendCriteria(sql, params, criteria);
+    if (afterId != null) {
+      sql.append(" AND id > :afterId");
+      params.addValue("afterId", afterId);
+    }
+    sql.append(" ORDER BY id LIMIT :limit");
+    return jdbcTemplate.queryForList(sql.toString(), params, Long.class);
+  }
+
+  @Override
+  public boolean deleteIfNotInUse(Long id, Long expectedVersion) {
+    MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("id", id)
+            .addValue("expectedVersion", expectedVersion, Types.BIGINT);
+    return jdbcTemplate.update(DELETE_DEVICE_IF_NOT_IN_USE, params) > 0;
+  }
+
+  @Override
+  public Map<Long, Boolean> deleteAllIfNotInUse(Collection<Long> ids) {
+    Map<Long, Boolean> outcomes = new HashMap<>(ids.size());
+    if (ids.isEmpty()) {
+      return outcomes;
+    }
+    MapSqlParameterSource params = new MapSqlParameterSource("ids", ids.toArray(Long[]::new));
+    jdbcTemplate.query(
+        DELETE_DEVICES_IF_NOT_IN_USE,
+        params,
+        (RowCallbackHandler) rs -> outcomes.put(rs.getLong("id"), rs.getBoolean("deleted")));
+    return outcomes;
+  }
+
+  @Override
+  public void streamByCriteria(DeviceSearchCriteria criteria, Consumer<DeviceDto> consumer) {
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    StringBuilder sql = new StringBuilder(SELECT_DEVICE_DTOS).append(" WHERE TRUE");
+    appendCriteria(sql, params, criteria);
+    sql.append(" ORDER BY id");
+    RowCallbackHandler rowCallbackHandler = rs -> consumer.accept(mapDeviceDto(rs, rs.getRow()));
+    streamingJdbcTemplate.query(sql.toString(), params, rowCallbackHandler);
+  }
+
+  @Override
+  public void insertAll(List<DeviceEntity> devices) {
+    if (devices.isEmpty()) {
+      return;
+    }
+    Iterator<Long> ids = nextDeviceIds(devices.size()).iterator();
+    SqlParameterSource[] batch = new SqlParameterSource[devices.size()];
+    for (int i = 0; i < devices.size(); i++) {
+      DeviceEntity device = devices.get(i);
+      device.setId(ids.next());
+      device.setVersion(0L);
+      batch[i] =
+          new MapSqlParameterSource()
+              .addValue("id", device.getId())
+              .addValue("name", device.getName())
+              .addValue("brand", device.getBrand())
+              .addValue("deviceState", device.getDeviceState().name())
+              .addValue("creationTime", device.getCreationTime().toOffsetDateTime());
+    }
+    jdbcTemplate.batchUpdate(INSERT_DEVICE, batch);
+  }
+
+  @Override
+  public List<DeviceDto> findByIds(Collection<Long> ids, Set<DeviceField> fields) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    MapSqlParameterSource params = new MapSqlParameterSource("ids", ids.toArray(Long[]::new));
+    return jdbcTemplate.query(
+        selectDeviceDtos(fields) + BY_IDS, params, deviceDtoRowMapper(fields));
+  }
+
+  @Override
+  public List<DeviceDto> findByIdsInState(
+      Collection<Long> ids, DeviceState deviceState, Set<DeviceField> fields) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    MapSqlParameterSource params =
+        new MapSqlParameterSource("ids", ids.toArray(Long[]::new))
+            .addValue("deviceState", deviceState.name());
+    return jdbcTemplate.query(
+        selectDeviceDtos(fields) + BY_IDS_IN_STATE, params, deviceDtoRowMapper(fields));
+  }
+
+  @Override
+  public void streamDeviceStates(BiConsumer<Long, DeviceState> consumer) {
+    RowCallbackHandler rowCallbackHandler =
+        rs -> consumer.accept(rs.getLong("id"), DeviceState.valueOf(rs.getString("device_state")));
+    streamingJdbcTemplate.getJdbcTemplate().query(SELECT_DEVICE_STATES, rowCallbackHandler);
+  }
+
+  // Synchronized like Hibernate's pooled optimizer: the rest of the last block stays here for the
+  // next call, so small group commits share a block instead of burning one each.
+  private synchronized List<Long> nextDeviceIds(int count) {
+    List<Long> ids = new ArrayList<>(count);
+    takePooledIds(ids, count);
+    while (ids.size() < count) {
+      int blocks = Math.ceilDiv(count - ids.size(), DeviceEntity.ID_ALLOCATION_SIZE);
+      List<Long> blockEnds =
+          jdbcTemplate.queryForList(
+              NEXT_DEVICE_ID_BLOCKS, new MapSqlParameterSource("blocks", blocks), Long.class);
+      for (Long blockEnd : blockEnds) {
+        nextPooledId = Math.max(1, blockEnd - DeviceEntity.ID_ALLOCATION_SIZE + 1);
+        lastPooledId = blockEnd;
+        takePooledIds(ids, count);
+      }
+    }
+    return ids;
+  }
+
+  private void takePooledIds(List<Long> ids, int count) {
+    while (ids.size() < count && nextPooledId <= lastPooledId) {
+      ids.add(nextPooledId++);
+    }
+  }
+
+  private static String selectDeviceDtos(Set<DeviceField> fields) {
+    if (fields == null) {
+      return SELECT_DEVICE_DTOS;
+    }
+    StringJoiner columns = new StringJoiner(", ", "SELECT ", " FROM devices");
+    fields.forEach(field -> columns.add(column(field)));
+    return columns.toString();
+  }
+
+  private static RowMapper<DeviceDto> deviceDtoRowMapper(Set<DeviceField> fields) {
+    if (fields == null) {
+      return DEVICE_DTO_ROW_MAPPER;
+    }
+    return (rs, rowNum) -> {
+      DeviceDto.DeviceDtoBuilder device = DeviceDto.builder().id(rs.getLong("id"));
+      if (fields.contains(DeviceField.NAME)) {
+        device.name(rs.getString("name"));
+      }
+      if (fields.contains(DeviceField.BRAND)) {
+        device.brand(rs.getString("brand"));
+      }
+      if (fields.contains(DeviceField.DEVICE_STATE)) {
+        device.deviceState(DeviceState.valueOf(rs.getString("device_state")));
+      }
+      if (fields.contains(DeviceField.CREATION_TIME)) {
+        device.creationTime(rs.getObject("creation_time", OffsetDateTime.class).toZonedDateTime());
+      }
+      return device.build();
+    };
+  }
+
+  private static String column(DeviceField field) {
+    return switch (field) {
+      case ID -> "id";
+      case NAME -> "name";
+      case BRAND -> "brand";
+      case DEVICE_STATE -> "device_state";
+      case CREATION_TIME -> "creation_time";
+    };
+  }
+
+  private static void appendCriteria(
+      StringBuilder sql, MapSqlParameterSource params, DeviceSearchCriteria criteria) {
+    appendTextCriterion(sql, params, "brand", criteria.getBrand(), criteria.getMatch());
+    appendTextCriterion(sql, params, "name", criteria.getName(), criteria.getMatch());
+    if (criteria.getDeviceState() != null) {
+      sql.append(" AND device_state = :deviceState");
+      params.addValue("deviceState", criteria.getDeviceState().name());
+    }
+    // Half-open range on the partition key, so the planner can prune partitions.
+    if (criteria.getCreatedFrom() != null) {
+      sql.append(" AND creation_time >= :createdFrom");
+      params.addValue("createdFrom", criteria.getCreatedFrom().toOffsetDateTime());
+    }
+    if (criteria.getCreatedTo() != null) {
+      sql.append(" AND creation_time < :createdTo");
+      params.addValue("createdTo", criteria.getCreatedTo().toOffsetDateTime());
+    }
+  }
+
+  private static void appendTextCriterion(
+      StringBuilder sql,
+      MapSqlParameterSource params,
+      String column,
+      String value,
+      DeviceMatchMode match) {
+    if (!StringUtils.hasLength(value)) {
+      return;
+    }
+    String lowerColumn = "LOWER(" + column + ")";
+    String lowerParam = "LOWER(:" + column + ")";
+    if (match == null) {
+      sql.append(" AND ").append(lowerColumn).append(" LIKE ").append(lowerParam);
+      params.addValue(column, value);
+      return;
+    }
+    switch (match) {
+      case EXACT -> {
+        sql.append(" AND ").append(lowerColumn).append(" = ").append(lowerParam);
+        params.addValue(column, value);
+      }
+      case PREFIX -> {
+        sql.append(" AND ").append(lowerColumn).append(" LIKE ").append(lowerParam);
+        params.addValue(column, escapeLikePattern(value) + "%");
+      }
+      case CONTAINS -> {
+        sql.append(" AND ").append(lowerColumn).append(" LIKE ").append(lowerParam);
+        params.addValue(column, "%" + escapeLikePattern(value) + "%");
+      }
+      case FUZZY -> {
+        sql.append(" AND ").append(lowerColumn).append(" % ").append(lowerParam);
+        params.addValue(column, value);
+      }
+    }
+  }
+
+  private static Optional<String> similarityScore(DeviceSearchCriteria criteria) {
+    List<String> scores = new ArrayList<>();
+    if (StringUtils.hasLength(criteria.getBrand())) {
+      scores.add("similarity(LOWER(brand), LOWER(:brand))");
+    }
+    if (StringUtils.hasLength(criteria.getName())) {
+      scores.add("similarity(LOWER(name), LOWER(:name))");
+    }
+    return scores.isEmpty() ? Optional.empty() : Optional.of(String.join(" + ", scores));
+  }
+
+  private static String escapeLikePattern(String value) {
+    return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+
+  private static DeviceEntity mapDeviceEntity(ResultSet rs, int rowNum) throws SQLException {
+    return DeviceEntity.builder()
+        .id(rs.getLong("id"))
+        .name(rs.getString("name"))
+        .brand(rs.getString("brand"))
+        .deviceState(DeviceState.valueOf(rs.getString("device_state")))
+        .creationTime(rs.getObject("creation_time", OffsetDateTime.class).toZonedDateTime())
+        .createdOn(toInstant(rs.getObject("created_on", OffsetDateTime.class)))
+        .lastUpdatedOn(toInstant(rs.getObject("last_updated_on", OffsetDateTime.class)))
+        .version(rs.getLong("version"))
+        .build();
+  }
+
+  private static DeviceDto mapDeviceDto(ResultSet rs, int rowNum) throws SQLException {
+    return DeviceDto.builder()
+        .id(rs.getLong("id"))
+        .name(rs.getString("name"))
+        .brand(rs.getString("brand"))
+        .deviceState(DeviceState.valueOf(rs.getString("device_state")))
+        .creationTime(rs.getObject("creation_time", OffsetDateTime.class).toZonedDateTime())
+        .version(rs.getLong("version"))
+        .build();
+  }
+
+  private static Instant toInstant(OffsetDateTime offsetDateTime) {
+    return offsetDateTime != null ? offsetDateTime.toInstant() : null;
+  }
+}
@@ -0,0 +1,28 @@
+package de.ilyes.device.repository.entity;
+
+import de.ilyes.device.mapper.dto.DeviceField;
+import java.util.Arrays;
+import java.util.Optional;
+import lombok.Getter;
+
+@Getter
+public enum DeviceSortColumn {
+  ID("id", "id", DeviceField.ID),
+  NAME("name", "name", DeviceField.NAME),
+  BRAND("brand", "brand", DeviceField.BRAND),
+  CREATION_TIME("creationTime", "creation_time", DeviceField.CREATION_TIME);
+
+  private final String property;
+  private final String column;
+  private final DeviceField field;
+
+  DeviceSortColumn(String property, String column, DeviceField field) {
+    this.property = property;
+    this.column = column;
+    this.field = field;
+  }
+
+  public static Optional<DeviceSortColumn> fromProperty(String property) {
+    return Arrays.stream(values()).filter(value -> value.property.equals(property)).findFirst();
+  }
+}
@@ -0,0 +1,8 @@
+package de.ilyes.device.repository.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.Instant;
+
+/** A device change captured in the outbox; the payload is the JSON of the row. */
+public record DeviceOutboxEvent(
+    long id, long deviceId, String type, @JsonRawValue String payload, Instant createdOn) {}
@@ -0,0 +1,74 @@
+package de.ilyes.device.repository.outbox;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class DeviceOutboxRepository {
+
+  // SKIP LOCKED lets every instance claim a different batch instead of queueing on the same rows.
+  private static final String LOCK_PENDING_EVENTS =
+      "SELECT id, device_id, event_type, payload::TEXT AS payload, created_on FROM device_outbox "
+          + "WHERE dispatched_on IS NULL ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED";
+
+  private static final String MARK_DISPATCHED =
+      "UPDATE device_outbox SET dispatched_on = CURRENT_TIMESTAMP WHERE id = ANY(:ids)";
+
+  private static final String OLDEST_PENDING_CREATED_ON =
+      "SELECT created_on FROM device_outbox WHERE dispatched_on IS NULL ORDER BY id LIMIT 1";
+
+  private static final String DELETE_DISPATCHED_BEFORE =
+      "DELETE FROM device_outbox WHERE id IN (SELECT id FROM device_outbox "
+          + "WHERE dispatched_on < :cutoff LIMIT :limit)";
+
+  private static final RowMapper<DeviceOutboxEvent> OUTBOX_EVENT_ROW_MAPPER =
+      (rs, rowNum) ->
+          new DeviceOutboxEvent(
+              rs.getLong("id"),
+              rs.getLong("device_id"),
+              rs.getString("event_type"),
+              rs.getString("payload"),
+              rs.getObject("created_on", OffsetDateTime.class).toInstant());
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public DeviceOutboxRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Must run inside a transaction, which holds the row locks until it ends. */
+  public List<DeviceOutboxEvent> lockPending(int limit) {
+    return jdbcTemplate.query(
+        LOCK_PENDING_EVENTS, new MapSqlParameterSource("limit", limit), OUTBOX_EVENT_ROW_MAPPER);
+  }
+
+  public void markDispatched(List<DeviceOutboxEvent> events) {
+    Long[] ids = events.stream().map(DeviceOutboxEvent::id).toArray(Long[]::new);
+    jdbcTemplate.update(MARK_DISPATCHED, new MapSqlParameterSource("ids", ids));
+  }
+
+  public Optional<Instant> findOldestPendingCreatedOn() {
+    return jdbcTemplate
+        .query(
+            OLDEST_PENDING_CREATED_ON,
+            new MapSqlParameterSource(),
+            (rs, rowNum) -> rs.getObject("created_on", OffsetDateTime.class).toInstant())
+        .stream()
+        .findFirst();
+  }
+
+  public int deleteDispatchedBefore(Instant cutoff, int limit) {
+    MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("cutoff", OffsetDateTime.ofInstant(cutoff, ZoneOffset.UTC))
+            .addValue("limit", limit);
+    return jdbcTemplate.update(DELETE_DISPATCHED_BEFORE, params);
+  }
+}
@@ -0,0 +1,50 @@
+package de.ilyes.device.repository.partition;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Maintains the monthly {@code devices} partitions through the functions created in V8. */
+@Repository
+public class DevicePartitionRepository {
+
+  private static final String ENSURE_PARTITIONS =
+      "SELECT ensure_device_partitions(:monthsBehind, :monthsAhead)";
+
+  private static final String ARCHIVE_PARTITIONS = "SELECT archive_device_partitions(:cutoff)";
+
+  private static final String COUNT_DEFAULT_PARTITION_ROWS = "SELECT COUNT(*) FROM devices_default";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public DevicePartitionRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Returns the partitions that had to be created. */
+  public List<String> ensurePartitions(int monthsBehind, int monthsAhead) {
+    MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("monthsBehind", monthsBehind)
+            .addValue("monthsAhead", monthsAhead);
+    return jdbcTemplate.queryForList(ENSURE_PARTITIONS, params, String.class);
+  }
+
+  /** Returns the partitions detached and moved to the {@code device_archive} schema. */
+  public List<String> archivePartitionsBefore(Instant cutoff) {
+    return jdbcTemplate.queryForList(
+        ARCHIVE_PARTITIONS,
+        new MapSqlParameterSource("cutoff", OffsetDateTime.ofInstant(cutoff, ZoneOffset.UTC)),
+        String.class);
+  }
+
+  public long countDefaultPartitionRows() {
+    Long count =
+        jdbcTemplate.getJdbcTemplate().queryForObject(COUNT_DEFAULT_PARTITION_ROWS, Long.class);
+    return count != null ? count : 0;
+  }
+}
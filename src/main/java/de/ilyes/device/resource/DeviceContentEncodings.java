@@ -0,0 +1,50 @@
+package de.ilyes.device.resource;
+
+import java.util.Locale;
+
+final class DeviceContentEncodings {
+  private static final String GZIP = "gzip";
+  private static final String X_GZIP = "x-gzip";
+  private static final String ANY = "*";
+
+  private DeviceContentEncodings() {}
+
+  /**
+   * Whether Accept-Encoding allows gzip: listed with a q-value above 0, or not listed while {@code
+   * *} is. A malformed q-value counts as 0.
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    Double gzipQuality = null;
+    Double anyQuality = null;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      String name = parts[0].trim().toLowerCase(Locale.ROOT);
+      if (GZIP.equals(name) || X_GZIP.equals(name)) {
+        gzipQuality = Math.max(gzipQuality != null ? gzipQuality : 0, quality(parts));
+      } else if (ANY.equals(name)) {
+        anyQuality = quality(parts);
+      }
+    }
+    if (gzipQuality != null) {
+      return gzipQuality > 0;
+    }
+    return anyQuality != null && anyQuality > 0;
+  }
+
+  private static double quality(String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      String parameter = parts[i].trim();
+      if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2).trim());
+        } catch (NumberFormatException ex) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+}
@@ -0,0 +1,40 @@
+package de.ilyes.device.resource;
+
+import de.ilyes.device.exception.InvalidDeviceSearchException;
+import de.ilyes.device.mapper.dto.DeviceSearchCriteria;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+
+final class DeviceCreationTimes {
+
+  private DeviceCreationTimes() {}
+
+  /** Accepts an ISO-8601 date-time with offset, or a date meaning its start in UTC. */
+  static ZonedDateTime parse(String parameter, String value) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    try {
+      if (value.length() == 10) {
+        return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC);
+      }
+      return ZonedDateTime.parse(value);
+    } catch (DateTimeParseException ex) {
+      throw new InvalidDeviceSearchException(
+          "Wrong value for "
+              + parameter
+              + " parameter. Expected an ISO-8601 date (2025-01-31) or date-time with offset"
+              + " (2025-01-31T10:15:30Z).");
+    }
+  }
+
+  static void verifyRange(DeviceSearchCriteria criteria) {
+    if (criteria.getCreatedFrom() != null
+        && criteria.getCreatedTo() != null
+        && !criteria.getCreatedFrom().isBefore(criteria.getCreatedTo())) {
+      throw new InvalidDeviceSearchException("createdFrom must be before createdTo.");
+    }
+  }
+}
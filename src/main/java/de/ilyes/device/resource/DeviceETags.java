@@ -0,0 +1,37 @@
+package de.ilyes.device.resource;
+
+import de.ilyes.device.exception.DeviceVersionMismatchException;
+import java.util.Arrays;
+
+final class DeviceETags {
+  private static final String ANY = "*";
+  private static final String WEAK_PREFIX = "W/";
+
+  private DeviceETags() {}
+
+  static String of(Long version) {
+    return "\"" + version + "\"";
+  }
+
+  static boolean noneMatch(String ifNoneMatch, String currentETag) {
+    return Arrays.stream(ifNoneMatch.split(","))
+        .map(String::trim)
+        .map(eTag -> eTag.startsWith(WEAK_PREFIX) ? eTag.substring(WEAK_PREFIX.length()) : eTag)
+        .noneMatch(eTag -> ANY.equals(eTag) || currentETag.equals(eTag));
+  }
+
+  static Long expectedVersion(String ifMatch) {
+    if (ifMatch == null || ANY.equals(ifMatch.trim())) {
+      return null;
+    }
+    String eTag = ifMatch.trim();
+    if (eTag.length() < 3 || !eTag.startsWith("\"") || !eTag.endsWith("\"")) {
+      throw new DeviceVersionMismatchException();
+    }
+    try {
+      return Long.parseLong(eTag.substring(1, eTag.length() - 1));
+    } catch (NumberFormatException ex) {
+      throw new DeviceVersionMismatchException();
+    }
+  }
+}
@@ -1,10 +1,31 @@
 package de.ilyes.device.resource;
 
+import de.ilyes.device.exception.InvalidDeviceSearchException;
 import de.ilyes.device.exception.controlleradvice.ErrorResponseDto;
+import de.ilyes.device.mapper.dto.DeviceBatchCreationResultDto;
+import de.ilyes.device.mapper.dto.DeviceBulkDeletionDto;
+import de.ilyes.device.mapper.dto.DeviceBulkDeletionResultDto;
+import de.ilyes.device.mapper.dto.DeviceChangeEventDto;
+import de.ilyes.device.mapper.dto.DeviceCountMode;
 import de.ilyes.device.mapper.dto.DeviceCreationDto;
+import de.ilyes.device.mapper.dto.DeviceCursorPageDto;
 import de.ilyes.device.mapper.dto.DeviceDto;
+import de.ilyes.device.mapper.dto.DeviceExportFormat;
+import de.ilyes.device.mapper.dto.DeviceField;
+import de.ilyes.device.mapper.dto.DeviceImportEventDto;
+import de.ilyes.device.mapper.dto.DeviceLookupResultDto;
+import de.ilyes.device.mapper.dto.DeviceMatchMode;
+import de.ilyes.device.mapper.dto.DevicePageDto;
 import de.ilyes.device.mapper.dto.DevicePatchDto;
+import de.ilyes.device.mapper.dto.DeviceSearchCriteria;
+import de.ilyes.device.mapper.dto.DeviceState;
+import de.ilyes.device.mapper.dto.DeviceStateTransitionDto;
+import de.ilyes.device.mapper.dto.DeviceStateTransitionResultDto;
+import de.ilyes.device.mapper.dto.DeviceStatsDto;
 import de.ilyes.device.mapper.dto.DeviceUpdateDto;
+import de.ilyes.device.service.DeviceChangeBroadcaster;
+import de.ilyes.device.service.DeviceExportService;
+import de.ilyes.device.service.DeviceImportService;
 import de.ilyes.device.service.DeviceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,19 +33,40 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("api/v1/devices")
 public class DeviceResource {
 
   private final DeviceService deviceService;
+  private final DeviceExportService deviceExportService;
+  private final DeviceImportService deviceImportService;
+  private final DeviceChangeBroadcaster deviceChangeBroadcaster;
 
-  public DeviceResource(DeviceService deviceService) {
+  public DeviceResource(
+      DeviceService deviceService,
+      DeviceExportService deviceExportService,
+      DeviceImportService deviceImportService,
+      DeviceChangeBroadcaster deviceChangeBroadcaster) {
     this.deviceService = deviceService;
+    this.deviceExportService = deviceExportService;
+    this.deviceImportService = deviceImportService;
+    this.deviceChangeBroadcaster = deviceChangeBroadcaster;
   }
 
   @Operation(summary = "Create a new device")
@@ -41,7 +83,98 @@ public class DeviceResource {
   @PostMapping
   public ResponseEntity<DeviceDto> create(@Valid @RequestBody DeviceCreationDto dto) {
     DeviceDto created = deviceService.create(dto);
-    return ResponseEntity.ok(created);
+    return ResponseEntity.ok().eTag(DeviceETags.of(created.getVersion())).body(created);
+  }
+
+  @Operation(summary = "Create a batch of devices")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Batch processed, see per-item results",
+        content = @Content(schema = @Schema(implementation = DeviceBatchCreationResultDto.class))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Batch too large or malformed",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @PostMapping("/batch")
+  public ResponseEntity<DeviceBatchCreationResultDto> createBatch(
+      @RequestBody List<DeviceCreationDto> dtos) {
+    DeviceBatchCreationResultDto result = deviceService.createBatch(dtos);
+    return ResponseEntity.ok(result);
+  }
+
+  @Operation(
+      summary = "Move a set of devices to a new state",
+      description =
+          "Selects devices by ids or by a brand/name filter (same matching as the search) and"
+              + " applies the state in one statement. Each device is reported as UPDATED or"
+              + " NOT_FOUND; changing only the state is always allowed, even for IN_USE devices.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Transition applied, see per-device results",
+        content =
+            @Content(schema = @Schema(implementation = DeviceStateTransitionResultDto.class))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Too many devices selected or invalid selection",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @PatchMapping("/batch/state")
+  public ResponseEntity<DeviceStateTransitionResultDto> transitionStates(
+      @Valid @RequestBody DeviceStateTransitionDto dto) {
+    DeviceStateTransitionResultDto result = deviceService.transitionStates(dto);
+    return ResponseEntity.ok(result);
+  }
+
+  @Operation(
+      summary = "Delete a set of devices",
+      description =
+          "Deletes devices selected by ids, or created before createdTo and optionally matching"
+              + " a brand/name filter, in chunks of device.batch.delete-chunk-size. IN_USE devices"
+              + " are kept and listed in rejectedIds, unknown ids in notFoundIds.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Deletion applied, see rejected and missing ids",
+        content = @Content(schema = @Schema(implementation = DeviceBulkDeletionResultDto.class))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Too many ids or invalid selection",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @PostMapping("/batch/delete")
+  public ResponseEntity<DeviceBulkDeletionResultDto> deleteAll(
+      @Valid @RequestBody DeviceBulkDeletionDto dto) {
+    DeviceBulkDeletionResultDto result = deviceService.deleteAll(dto);
+    return ResponseEntity.ok(result);
+  }
+
+  @Operation(
+      summary = "Import devices from an NDJSON stream",
+      description =
+          "Reads one device per line, validates it like a single creation and inserts valid"
+              + " devices in chunks, each chunk in its own transaction. Rejected lines, progress"
+              + " after every committed chunk and a final COMPLETED or FAILED event are streamed"
+              + " back as NDJSON.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Import events streamed",
+        content =
+            @Content(
+                mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                schema = @Schema(implementation = DeviceImportEventDto.class)))
+  })
+  @PostMapping(
+      value = "/import",
+      consumes = MediaType.APPLICATION_NDJSON_VALUE,
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> importDevices(InputStream inputStream) {
+    StreamingResponseBody body =
+        outputStream -> deviceImportService.importDevices(inputStream, outputStream);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
   }
 
   @Operation(summary = "Get a device by its ID")
@@ -50,18 +183,41 @@ public class DeviceResource {
         responseCode = "200",
         description = "Device found",
         content = @Content(schema = @Schema(implementation = DeviceDto.class))),
+    @ApiResponse(responseCode = "304", description = "Device not modified since If-None-Match"),
     @ApiResponse(
         responseCode = "404",
         description = "Device not found",
         content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
   })
   @GetMapping("/{id}")
-  public ResponseEntity<DeviceDto> getById(@PathVariable Long id) {
+  public ResponseEntity<DeviceDto> getById(
+      @PathVariable Long id,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    if (ifNoneMatch != null) {
+      String currentETag = DeviceETags.of(deviceService.getVersionById(id));
+      if (!DeviceETags.noneMatch(ifNoneMatch, currentETag)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+      }
+    }
     DeviceDto dto = deviceService.getById(id);
-    return dto != null ? ResponseEntity.ok(dto) : ResponseEntity.notFound().build();
+    return dto != null
+        ? ResponseEntity.ok().eTag(DeviceETags.of(dto.getVersion())).body(dto)
+        : ResponseEntity.notFound().build();
   }
 
-  @Operation(summary = "Find devices by brand or name (paginated)")
+  @Operation(
+      summary = "Find devices by brand or name (paginated)",
+      description =
+          "Without match, brand and name are case-insensitive LIKE patterns. With"
+              + " match=exact|prefix|contains|fuzzy the values are matched literally using the"
+              + " text search indexes; fuzzy results are ranked by similarity. count=exact"
+              + " (default) runs a COUNT query, count=none returns a slice without totals,"
+              + " count=estimate uses planner statistics and count=cached memoizes exact counts"
+              + " per filter for a short time. A state filter alone, sorted by id, is answered"
+              + " from the in-memory state index with an exact total. createdFrom (inclusive) and"
+              + " createdTo (exclusive) restrict the creation time and only scan the matching"
+              + " monthly partitions. fields=id,deviceState,... loads and returns only the"
+              + " listed fields; the id is always included.")
   @ApiResponses({
     @ApiResponse(
         responseCode = "200",
@@ -69,18 +225,250 @@ public class DeviceResource {
         content = @Content(schema = @Schema(implementation = Page.class))),
     @ApiResponse(
         responseCode = "400",
-        description = "Invalid request",
+        description = "Invalid match mode, count mode or sort property",
         content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
   })
   @GetMapping
-  public ResponseEntity<Page<DeviceDto>> findByBrandOrName(
+  public ResponseEntity<Slice<DeviceDto>> findByBrandOrName(
+      @RequestParam(required = false) String brand,
+      @RequestParam(required = false) String name,
+      @RequestParam(required = false) String match,
+      @RequestParam(required = false) String state,
+      @RequestParam(required = false) String createdFrom,
+      @RequestParam(required = false) String createdTo,
+      @RequestParam(required = false) String fields,
+      @RequestParam(required = false) String count,
+      Pageable pageable) {
+    DeviceSearchCriteria criteria =
+        DeviceSearchCriteria.builder()
+            .brand(brand)
+            .name(name)
+            .match(DeviceMatchMode.fromValue(match))
+            .deviceState(DeviceState.fromValue(state))
+            .createdFrom(DeviceCreationTimes.parse("createdFrom", createdFrom))
+            .createdTo(DeviceCreationTimes.parse("createdTo", createdTo))
+            .fields(DeviceField.fromValues(fields))
+            .build();
+    DeviceCreationTimes.verifyRange(criteria);
+    Slice<DeviceDto> devices =
+        deviceService.search(criteria, DeviceCountMode.fromValue(count), pageable);
+    return ResponseEntity.ok(devices);
+  }
+
+  @Operation(
+      summary = "Get devices by their IDs",
+      description =
+          "Resolves a comma separated list of ids with a single query, enabled with ids=..."
+              + " Devices are returned in the order of the ids; unknown ids are listed in"
+              + " missingIds. fields=... narrows the returned fields like the search.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Devices resolved",
+        content = @Content(schema = @Schema(implementation = DeviceLookupResultDto.class))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid id or field, or too many ids",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @GetMapping(params = {"ids", "pagination!=keyset", "envelope!=compact"})
+  public ResponseEntity<DeviceLookupResultDto> findByIds(
+      @RequestParam String ids, @RequestParam(required = false) String fields) {
+    return ResponseEntity.ok(
+        deviceService.findByIds(parseIds(ids), DeviceField.fromValues(fields)));
+  }
+
+  @Operation(
+      summary = "Get devices by their IDs (request body)",
+      description = "Same lookup as GET with ids=..., for id lists too long for a query string.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Devices resolved",
+        content = @Content(schema = @Schema(implementation = DeviceLookupResultDto.class))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid field or too many ids",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @PostMapping("/lookup")
+  public ResponseEntity<DeviceLookupResultDto> lookup(
+      @RequestBody List<Long> ids, @RequestParam(required = false) String fields) {
+    return ResponseEntity.ok(deviceService.findByIds(ids, DeviceField.fromValues(fields)));
+  }
+
+  @Operation(
+      summary = "Find devices by brand or name (compact page)",
+      description =
+          "Same search as the paginated endpoint, enabled with envelope=compact. The response"
+              + " only carries content, page, size, hasNext and, unless count=none, the total.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Devices found",
+        content = @Content(schema = @Schema(implementation = DevicePageDto.class))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid match mode, count mode, field or sort property",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @GetMapping(params = {"envelope=compact", "pagination!=keyset"})
+  public ResponseEntity<DevicePageDto> findByBrandOrNameCompact(
       @RequestParam(required = false) String brand,
       @RequestParam(required = false) String name,
+      @RequestParam(required = false) String match,
+      @RequestParam(required = false) String state,
+      @RequestParam(required = false) String createdFrom,
+      @RequestParam(required = false) String createdTo,
+      @RequestParam(required = false) String fields,
+      @RequestParam(required = false) String count,
       Pageable pageable) {
-    Page<DeviceDto> devices = deviceService.findByBrandOrName(brand, name, pageable);
+    Slice<DeviceDto> devices =
+        findByBrandOrName(
+                brand, name, match, state, createdFrom, createdTo, fields, count, pageable)
+            .getBody();
+    DevicePageDto page =
+        DevicePageDto.builder()
+            .content(devices.getContent())
+            .page(devices.getNumber())
+            .size(devices.getSize())
+            .hasNext(devices.hasNext())
+            .total(devices instanceof Page<DeviceDto> counted ? counted.getTotalElements() : null)
+            .build();
+    return ResponseEntity.ok(page);
+  }
+
+  @Operation(
+      summary = "Find devices by brand or name (cursor based)",
+      description =
+          "Keyset pagination, enabled with pagination=keyset. Pass the returned nextCursor as"
+              + " the after parameter to fetch the next page. No total count is computed.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Devices found",
+        content = @Content(schema = @Schema(implementation = DeviceCursorPageDto.class))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid cursor or sort property",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @GetMapping(params = "pagination=keyset")
+  public ResponseEntity<DeviceCursorPageDto> findByBrandOrNameAfter(
+      @RequestParam(required = false) String brand,
+      @RequestParam(required = false) String name,
+      @RequestParam(required = false) String match,
+      @RequestParam(required = false) String state,
+      @RequestParam(required = false) String createdFrom,
+      @RequestParam(required = false) String createdTo,
+      @RequestParam(required = false) String fields,
+      @RequestParam(required = false) String after,
+      @RequestParam(defaultValue = "20") int size,
+      Sort sort) {
+    DeviceSearchCriteria criteria =
+        DeviceSearchCriteria.builder()
+            .brand(brand)
+            .name(name)
+            .match(DeviceMatchMode.fromValue(match))
+            .deviceState(DeviceState.fromValue(state))
+            .createdFrom(DeviceCreationTimes.parse("createdFrom", createdFrom))
+            .createdTo(DeviceCreationTimes.parse("createdTo", createdTo))
+            .fields(DeviceField.fromValues(fields))
+            .build();
+    DeviceCreationTimes.verifyRange(criteria);
+    DeviceCursorPageDto devices = deviceService.findByBrandOrNameAfter(criteria, after, size, sort);
     return ResponseEntity.ok(devices);
   }
 
+  @Operation(
+      summary = "Count devices per state",
+      description = "Answered from the in-memory state index without querying the database.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Device counts",
+        content = @Content(schema = @Schema(implementation = DeviceStatsDto.class)))
+  })
+  @GetMapping("/stats")
+  public ResponseEntity<DeviceStatsDto> getStats() {
+    return ResponseEntity.ok(deviceService.getStats());
+  }
+
+  @Operation(
+      summary = "Subscribe to device changes",
+      description =
+          "Server-Sent Events stream of CREATED, UPDATED and DELETED events carrying the device"
+              + " and its previous state, for changes made through any instance. A subscriber"
+              + " that falls behind by more than device.changes.buffer-size events receives an"
+              + " overflow event and is disconnected; it should reconnect and re-read the"
+              + " devices it tracks.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Change events streamed",
+        content =
+            @Content(
+                mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                schema = @Schema(implementation = DeviceChangeEventDto.class)))
+  })
+  @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter changes() {
+    return deviceChangeBroadcaster.subscribe();
+  }
+
+  @Operation(
+      summary = "Export devices matching brand or name",
+      description =
+          "Streams every matching device ordered by id as ndjson (default) or csv. The response is"
+              + " gzip compressed when the client's Accept-Encoding allows gzip with a q-value"
+              + " above 0.")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Devices streamed"),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid export format or match mode",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
+  })
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> export(
+      @RequestParam(required = false) String brand,
+      @RequestParam(required = false) String name,
+      @RequestParam(required = false) String match,
+      @RequestParam(required = false) String createdFrom,
+      @RequestParam(required = false) String createdTo,
+      @RequestParam(defaultValue = "ndjson") String format,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+    DeviceSearchCriteria criteria =
+        DeviceSearchCriteria.builder()
+            .brand(brand)
+            .name(name)
+            .match(DeviceMatchMode.fromValue(match))
+            .createdFrom(DeviceCreationTimes.parse("createdFrom", createdFrom))
+            .createdTo(DeviceCreationTimes.parse("createdTo", createdTo))
+            .build();
+    DeviceCreationTimes.verifyRange(criteria);
+    DeviceExportFormat exportFormat = DeviceExportFormat.fromValue(format);
+    boolean gzip = DeviceContentEncodings.acceptsGzip(acceptEncoding);
+    StreamingResponseBody body =
+        outputStream -> {
+          if (gzip) {
+            GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 8192);
+            deviceExportService.export(criteria, exportFormat, gzipOutputStream);
+            gzipOutputStream.finish();
+          } else {
+            deviceExportService.export(criteria, exportFormat, outputStream);
+          }
+        };
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.body(body);
+  }
+
   @Operation(summary = "Update a device by its ID")
   @ApiResponses({
     @ApiResponse(
@@ -94,13 +482,21 @@ public class DeviceResource {
     @ApiResponse(
         responseCode = "404",
         description = "Device not found",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))),
+    @ApiResponse(
+        responseCode = "412",
+        description = "If-Match does not match the current device version",
         content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
   })
   @PutMapping("/{id}")
   public ResponseEntity<DeviceDto> update(
-      @PathVariable Long id, @Valid @RequestBody DeviceUpdateDto dto) {
-    DeviceDto updated = deviceService.update(id, dto);
-    return updated != null ? ResponseEntity.ok(updated) : ResponseEntity.notFound().build();
+      @PathVariable Long id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @Valid @RequestBody DeviceUpdateDto dto) {
+    DeviceDto updated = deviceService.update(id, dto, DeviceETags.expectedVersion(ifMatch));
+    return updated != null
+        ? ResponseEntity.ok().eTag(DeviceETags.of(updated.getVersion())).body(updated)
+        : ResponseEntity.notFound().build();
   }
 
   @Operation(summary = "Delete a device by its ID")
@@ -109,11 +505,17 @@ public class DeviceResource {
     @ApiResponse(
         responseCode = "404",
         description = "Device not found",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))),
+    @ApiResponse(
+        responseCode = "412",
+        description = "If-Match does not match the current device version",
         content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
   })
   @DeleteMapping("/{id}")
-  public ResponseEntity<Void> delete(@PathVariable Long id) {
-    deviceService.delete(id);
+  public ResponseEntity<Void> delete(
+      @PathVariable Long id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    deviceService.delete(id, DeviceETags.expectedVersion(ifMatch));
     return ResponseEntity.noContent().build();
   }
 
@@ -130,12 +532,33 @@ public class DeviceResource {
     @ApiResponse(
         responseCode = "404",
         description = "Device not found",
+        content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))),
+    @ApiResponse(
+        responseCode = "412",
+        description = "If-Match does not match the current device version",
         content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))
   })
   @PatchMapping("/{id}")
   public ResponseEntity<DeviceDto> patch(
-      @PathVariable Long id, @Valid @RequestBody DevicePatchDto dto) {
-    DeviceDto patched = deviceService.patchDevice(id, dto);
-    return patched != null ? ResponseEntity.ok(patched) : ResponseEntity.notFound().build();
+      @PathVariable Long id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @Valid @RequestBody DevicePatchDto dto) {
+    DeviceDto patched = deviceService.patchDevice(id, dto, DeviceETags.expectedVersion(ifMatch));
+    return patched != null
+        ? ResponseEntity.ok().eTag(DeviceETags.of(patched.getVersion())).body(patched)
+        : ResponseEntity.notFound().build();
+  }
+
+  private static List<Long> parseIds(String ids) {
+    try {
+      return Arrays.stream(ids.split(","))
+          .map(String::trim)
+          .filter(id -> !id.isEmpty())
+          .map(Long::valueOf)
+          .toList();
+    } catch (NumberFormatException ex) {
+      throw new InvalidDeviceSearchException(
+          "Wrong value for ids parameter. Expected comma separated device ids.");
+    }
   }
 }
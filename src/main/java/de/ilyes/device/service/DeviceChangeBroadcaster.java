@@ -0,0 +1,146 @@
+package de.ilyes.device.service;
+
+import de.ilyes.device.config.properties.DeviceChangesProperties;
+import de.ilyes.device.mapper.dto.DeviceChangeEventDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fans device changes out to SSE subscribers. Every subscriber owns a bounded buffer drained by its
+ * own virtual thread, so a slow client only ever blocks itself. A subscriber whose buffer is full
+ * is dropped: its pending events are discarded, a final {@code overflow} event is sent and the
+ * stream is closed, and the client is expected to reconnect and re-read the devices it tracks.
+ */
+@Component
+public class DeviceChangeBroadcaster {
+  private static final Logger log = LoggerFactory.getLogger(DeviceChangeBroadcaster.class);
+
+  public static final String SUBSCRIBERS_METRIC = "device.changes.subscribers";
+  public static final String SLOW_CONSUMER_DISCONNECTS_METRIC = "device.changes.slow.disconnects";
+  public static final String OVERFLOW_EVENT = "overflow";
+
+  private final DeviceChangesProperties changesProperties;
+  private final Executor drainExecutor;
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final AtomicLong eventIds = new AtomicLong();
+  private final Counter slowConsumerDisconnects;
+
+  @Autowired
+  public DeviceChangeBroadcaster(
+      DeviceChangesProperties changesProperties, MeterRegistry meterRegistry) {
+    this(
+        changesProperties,
+        meterRegistry,
+        Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("device-changes-", 0).factory()));
+  }
+
+  DeviceChangeBroadcaster(
+      DeviceChangesProperties changesProperties,
+      MeterRegistry meterRegistry,
+      Executor drainExecutor) {
+    this.changesProperties = changesProperties;
+    this.drainExecutor = drainExecutor;
+    Gauge.builder(SUBSCRIBERS_METRIC, subscribers, Set::size)
+        .description("Open device change feed subscriptions")
+        .register(meterRegistry);
+    this.slowConsumerDisconnects =
+        Counter.builder(SLOW_CONSUMER_DISCONNECTS_METRIC)
+            .description("Change feed subscribers dropped because their buffer was full")
+            .register(meterRegistry);
+  }
+
+  public SseEmitter subscribe() {
+    SseEmitter emitter = new SseEmitter(changesProperties.getSubscriptionTimeout().toMillis());
+    Subscriber subscriber =
+        new Subscriber(emitter, new ArrayBlockingQueue<>(changesProperties.getBufferSize()));
+    emitter.onCompletion(() -> subscribers.remove(subscriber));
+    emitter.onTimeout(() -> subscribers.remove(subscriber));
+    emitter.onError(ex -> subscribers.remove(subscriber));
+    subscribers.add(subscriber);
+    drainExecutor.execute(() -> drain(subscriber));
+    log.info("Device change feed subscribed, subscribers: {}", subscribers.size());
+    return emitter;
+  }
+
+  public void publish(DeviceChangeEventDto event) {
+    SequencedEvent sequencedEvent = new SequencedEvent(eventIds.incrementAndGet(), event);
+    for (Subscriber subscriber : subscribers) {
+      if (!subscriber.queue.offer(sequencedEvent) && subscribers.remove(subscriber)) {
+        subscriber.overflowed = true;
+        slowConsumerDisconnects.increment();
+        log.warn(
+            "Device change feed subscriber dropped, buffer of {} events full",
+            changesProperties.getBufferSize());
+      }
+    }
+  }
+
+  public int getSubscriberCount() {
+    return subscribers.size();
+  }
+
+  private void drain(Subscriber subscriber) {
+    SseEmitter emitter = subscriber.emitter;
+    long heartbeatMillis = changesProperties.getHeartbeatInterval().toMillis();
+    try {
+      while (!subscriber.overflowed) {
+        SequencedEvent next = subscriber.queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+        if (subscriber.overflowed) {
+          break;
+        }
+        if (next == null) {
+          if (!subscribers.contains(subscriber)) {
+            return;
+          }
+          emitter.send(SseEmitter.event().comment("heartbeat"));
+        } else {
+          emitter.send(
+              SseEmitter.event()
+                  .id(Long.toString(next.id()))
+                  .name(next.event().getType().name())
+                  .data(next.event(), MediaType.APPLICATION_JSON));
+        }
+      }
+      subscriber.queue.clear();
+      emitter.send(SseEmitter.event().name(OVERFLOW_EVENT).data("buffer full"));
+      emitter.complete();
+    } catch (IOException | IllegalStateException ex) {
+      subscribers.remove(subscriber);
+      log.debug("Device change feed subscriber gone: {}", ex.getMessage());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      subscribers.remove(subscriber);
+      emitter.complete();
+    }
+  }
+
+  private record SequencedEvent(long id, DeviceChangeEventDto event) {}
+
+  private static final class Subscriber {
+    private final SseEmitter emitter;
+    private final BlockingQueue<SequencedEvent> queue;
+    private volatile boolean overflowed;
+
+    private Subscriber(SseEmitter emitter, BlockingQueue<SequencedEvent> queue) {
+      this.emitter = emitter;
+      this.queue = queue;
+    }
+  }
+}
@@ -0,0 +1,210 @@
+package de.ilyes.device.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import de.ilyes.device.config.cache.CacheConfiguration;
+import de.ilyes.device.config.properties.DeviceChangesProperties;
+import de.ilyes.device.mapper.dto.DeviceChangeEventDto;
+import de.ilyes.device.mapper.dto.DeviceChangeType;
+import de.ilyes.device.mapper.dto.DeviceDto;
+import de.ilyes.device.mapper.dto.DeviceState;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listens on the {@code device_changes} channel fed by the {@code devices_notify_change} trigger
+ * and hands every change to the {@link DeviceChangeBroadcaster} and the {@link DeviceStateIndex},
+ * so subscribers and the state index of any instance see writes made through every instance. Cached
+ * devices whose version no longer matches are evicted, since conditional GETs are answered from the
+ * cache. It holds its own connection outside the pool; changes committed while that connection is
+ * being re-established are not replayed, so once it is back the device cache is cleared and the
+ * state index rebuilt.
+ */
+@Component
+@ConditionalOnProperty(prefix = "device.changes", name = "enabled", matchIfMissing = true)
+public class DeviceChangeListener implements SmartLifecycle {
+  private static final Logger log = LoggerFactory.getLogger(DeviceChangeListener.class);
+
+  static final String CHANNEL = "device_changes";
+  private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+  private final JdbcConnectionDetails connectionDetails;
+  private final DeviceChangeBroadcaster broadcaster;
+  private final DeviceStateIndex deviceStateIndex;
+  private final CacheManager cacheManager;
+  private final DeviceChangesProperties changesProperties;
+  private final ObjectReader notificationReader;
+  private volatile boolean running;
+  private Thread listenerThread;
+
+  public DeviceChangeListener(
+      JdbcConnectionDetails connectionDetails,
+      DeviceChangeBroadcaster broadcaster,
+      DeviceStateIndex deviceStateIndex,
+      CacheManager cacheManager,
+      DeviceChangesProperties changesProperties,
+      ObjectMapper objectMapper) {
+    this.connectionDetails = connectionDetails;
+    this.broadcaster = broadcaster;
+    this.deviceStateIndex = deviceStateIndex;
+    this.cacheManager = cacheManager;
+    this.changesProperties = changesProperties;
+    this.notificationReader = objectMapper.readerFor(DeviceChangeNotification.class);
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    listenerThread =
+        Thread.ofPlatform().daemon().name("device-change-listener").start(this::listen);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    listenerThread.interrupt();
+    try {
+      listenerThread.join(2L * POLL_TIMEOUT_MILLIS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void listen() {
+    boolean missedChanges = false;
+    while (running) {
+      try (Connection connection =
+          DriverManager.getConnection(
+              connectionDetails.getJdbcUrl(),
+              connectionDetails.getUsername(),
+              connectionDetails.getPassword())) {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + CHANNEL);
+        }
+        log.info("Listening for device changes on channel {}", CHANNEL);
+        if (missedChanges) {
+          recoverMissedChanges();
+          missedChanges = false;
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+          PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              handle(notification.getParameter());
+            }
+          }
+        }
+      } catch (SQLException | DataAccessException ex) {
+        missedChanges = true;
+        if (running) {
+          log.warn(
+              "Device change listener connection lost, reconnecting in {}",
+              changesProperties.getReconnectDelay(),
+              ex);
+          pauseBeforeReconnect();
+        }
+      }
+    }
+  }
+
+  void handle(String payload) {
+    DeviceChangeNotification notification;
+    try {
+      notification = notificationReader.readValue(payload);
+    } catch (JsonProcessingException ex) {
+      log.error("Ignoring malformed device change notification: {}", payload, ex);
+      return;
+    }
+    DeviceChangeEventDto event = notification.toEvent();
+    if (event.getType() == DeviceChangeType.DELETED) {
+      deviceStateIndex.remove(notification.id());
+    } else if (notification.deviceState() != null) {
+      deviceStateIndex.put(notification.id(), notification.deviceState());
+    }
+    evictIfStale(notification, event.getType());
+    broadcaster.publish(event);
+  }
+
+  void recoverMissedChanges() {
+    deviceStateIndex.rebuild();
+    Cache cache = cacheManager.getCache(CacheConfiguration.DEVICE_CACHE);
+    if (cache != null) {
+      cache.clear();
+    }
+    log.info("Device cache cleared and state index rebuilt after missing device changes");
+  }
+
+  private void evictIfStale(DeviceChangeNotification notification, DeviceChangeType type) {
+    Cache cache = cacheManager.getCache(CacheConfiguration.DEVICE_CACHE);
+    DeviceDto cached = cache != null ? cache.get(notification.id(), DeviceDto.class) : null;
+    if (cached != null
+        && (type == DeviceChangeType.DELETED
+            || !Objects.equals(cached.getVersion(), notification.version()))) {
+      cache.evict(notification.id());
+    }
+  }
+
+  private void pauseBeforeReconnect() {
+    try {
+      Thread.sleep(changesProperties.getReconnectDelay());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  record DeviceChangeNotification(
+      String operation,
+      Long id,
+      String name,
+      String brand,
+      DeviceState deviceState,
+      DeviceState previousState,
+      OffsetDateTime creationTime,
+      Long version) {
+
+    DeviceChangeEventDto toEvent() {
+      DeviceChangeType type =
+          switch (operation) {
+            case "INSERT" -> DeviceChangeType.CREATED;
+            case "DELETE" -> DeviceChangeType.DELETED;
+            default -> DeviceChangeType.UPDATED;
+          };
+      DeviceDto device =
+          DeviceDto.builder()
+              .id(id)
+              .name(name)
+              .brand(brand)
+              .deviceState(deviceState)
+              .creationTime(creationTime != null ? creationTime.toZonedDateTime() : null)
+              .version(version)
+              .build();
+      return DeviceChangeEventDto.builder()
+          .type(type)
+          .device(device)
+          .previousState(previousState)
+          .build();
+    }
+  }
+}
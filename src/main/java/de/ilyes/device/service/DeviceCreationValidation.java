@@ -0,0 +1,26 @@
+package de.ilyes.device.service;
+
+import de.ilyes.device.mapper.dto.DeviceCreationDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+final class DeviceCreationValidation {
+
+  private DeviceCreationValidation() {}
+
+  static String validate(Validator validator, DeviceCreationDto dto) {
+    if (dto == null) {
+      return "device : must not be null";
+    }
+    Set<ConstraintViolation<DeviceCreationDto>> violations = validator.validate(dto);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(violation -> violation.getPropertyPath() + " : " + violation.getMessage())
+        .sorted()
+        .collect(Collectors.joining(", "));
+  }
+}
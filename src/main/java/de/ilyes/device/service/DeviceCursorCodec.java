@@ -0,0 +1,65 @@
+package de.ilyes.device.service;
+
+import de.ilyes.device.exception.InvalidDeviceSearchException;
+import de.ilyes.device.repository.entity.DeviceKeyset;
+import de.ilyes.device.repository.entity.DeviceSortColumn;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import org.springframework.data.domain.Sort;
+
+final class DeviceCursorCodec {
+  private static final String VERSION = "v1";
+  private static final String SEPARATOR = "|";
+  private static final String INVALID_CURSOR_MESSAGE = "Invalid or expired pagination cursor.";
+
+  private DeviceCursorCodec() {}
+
+  static String encode(DeviceKeyset keyset) {
+    String lastValue =
+        switch (keyset.getSortColumn()) {
+          case ID -> "";
+          case CREATION_TIME -> ((OffsetDateTime) keyset.getLastValue()).toInstant().toString();
+          case NAME, BRAND -> (String) keyset.getLastValue();
+        };
+    String cursor =
+        String.join(
+            SEPARATOR,
+            VERSION,
+            keyset.getSortColumn().name(),
+            keyset.getDirection().name(),
+            String.valueOf(keyset.getLastId()),
+            lastValue);
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static DeviceKeyset decode(String cursor) {
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = decoded.split("\\" + SEPARATOR, 5);
+      if (parts.length != 5 || !VERSION.equals(parts[0])) {
+        throw new InvalidDeviceSearchException(INVALID_CURSOR_MESSAGE);
+      }
+      DeviceSortColumn sortColumn = DeviceSortColumn.valueOf(parts[1]);
+      Object lastValue =
+          switch (sortColumn) {
+            case ID -> null;
+            case CREATION_TIME -> Instant.parse(parts[4]).atOffset(ZoneOffset.UTC);
+            case NAME, BRAND -> parts[4];
+          };
+      return DeviceKeyset.builder()
+          .sortColumn(sortColumn)
+          .direction(Sort.Direction.valueOf(parts[2]))
+          .lastId(Long.parseLong(parts[3]))
+          .lastValue(lastValue)
+          .build();
+    } catch (IllegalArgumentException | DateTimeException ex) {
+      throw new InvalidDeviceSearchException(INVALID_CURSOR_MESSAGE);
+    }
+  }
+}
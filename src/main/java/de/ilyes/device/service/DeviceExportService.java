@@ -0,0 +1,126 @@
+package de.ilyes.device.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.ilyes.device.config.DateFormatPatternConstant;
+import de.ilyes.device.mapper.dto.DeviceDto;
+import de.ilyes.device.mapper.dto.DeviceExportFormat;
+import de.ilyes.device.mapper.dto.DeviceSearchCriteria;
+import de.ilyes.device.repository.entity.DeviceRepository;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class DeviceExportService {
+  private static final Logger log = LoggerFactory.getLogger(DeviceExportService.class);
+  private static final String CSV_HEADER = "id,name,brand,deviceState,creationTime";
+  private static final DateTimeFormatter CREATION_TIME_FORMATTER =
+      DateTimeFormatter.ofPattern(DateFormatPatternConstant.ZONED_DATE_TIME_FORMAT);
+
+  private final DeviceRepository deviceRepository;
+  private final ObjectMapper objectMapper;
+  private final ObjectWriter deviceWriter;
+
+  public DeviceExportService(DeviceRepository deviceRepository, ObjectMapper objectMapper) {
+    this.deviceRepository = deviceRepository;
+    this.objectMapper = objectMapper;
+    this.deviceWriter =
+        objectMapper
+            .writerFor(DeviceDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  @Transactional(readOnly = true)
+  public long export(
+      DeviceSearchCriteria criteria, DeviceExportFormat format, OutputStream outputStream)
+      throws IOException {
+    log.info("Exporting devices as {}", format.getValue());
+    AtomicLong exported = new AtomicLong();
+    try {
+      switch (format) {
+        case NDJSON -> exportNdjson(criteria, outputStream, exported);
+        case CSV -> exportCsv(criteria, outputStream, exported);
+      }
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+    log.info("Devices exported: {}", exported.get());
+    return exported.get();
+  }
+
+  private void exportNdjson(
+      DeviceSearchCriteria criteria, OutputStream outputStream, AtomicLong exported)
+      throws IOException {
+    JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    generator.setRootValueSeparator(null);
+    deviceRepository.streamByCriteria(
+        criteria,
+        device -> {
+          try {
+            deviceWriter.writeValue(generator, device);
+            generator.writeRaw('\n');
+            exported.incrementAndGet();
+          } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+          }
+        });
+    generator.flush();
+  }
+
+  private void exportCsv(
+      DeviceSearchCriteria criteria, OutputStream outputStream, AtomicLong exported)
+      throws IOException {
+    Writer writer =
+        new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    writer.write(CSV_HEADER);
+    writer.write('\n');
+    deviceRepository.streamByCriteria(
+        criteria,
+        device -> {
+          try {
+            writer.write(toCsvLine(device));
+            exported.incrementAndGet();
+          } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+          }
+        });
+    writer.flush();
+  }
+
+  private static String toCsvLine(DeviceDto device) {
+    return device.getId()
+        + ","
+        + escapeCsv(device.getName())
+        + ","
+        + escapeCsv(device.getBrand())
+        + ","
+        + device.getDeviceState()
+        + ","
+        + device.getCreationTime().format(CREATION_TIME_FORMATTER)
+        + "\n";
+  }
+
+  private static String escapeCsv(String value) {
+    if (value.indexOf(',') < 0
+        && value.indexOf('"') < 0
+        && value.indexOf('\n') < 0
+        && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return "\"" + value.replace("\"", "\"\"") + "\"";
+  }
+}
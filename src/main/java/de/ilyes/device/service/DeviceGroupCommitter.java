@@ -0,0 +1,174 @@
+package de.ilyes.device.service;
+
+import de.ilyes.device.config.properties.DeviceGroupCommitProperties;
+import de.ilyes.device.repository.entity.DeviceEntity;
+import de.ilyes.device.repository.entity.DeviceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Coalesces concurrent single-device creates into one multi-row insert and commit. A create waits
+ * for at most {@code max-delay} after the first device of its group arrived, or until {@code
+ * max-batch-size} devices are queued. If a group fails, its devices are retried one by one so each
+ * caller gets the outcome of its own insert.
+ */
+@Component
+@ConditionalOnProperty(prefix = "device.group-commit", name = "enabled")
+public class DeviceGroupCommitter implements SmartLifecycle {
+  private static final Logger log = LoggerFactory.getLogger(DeviceGroupCommitter.class);
+
+  public static final String GROUP_SIZE_METRIC = "device.group.commit.size";
+  public static final String GROUP_COMMIT_METRIC = "device.group.commit.duration";
+  public static final String GROUP_FALLBACK_METRIC = "device.group.commit.fallbacks";
+  private static final long POLL_TIMEOUT_MILLIS = 100;
+
+  private final DeviceRepository deviceRepository;
+  private final DeviceGroupCommitProperties groupCommitProperties;
+  private final TransactionTemplate transactionTemplate;
+  private final BlockingQueue<PendingCreate> queue = new LinkedBlockingQueue<>();
+  private final DistributionSummary groupSize;
+  private final Timer commitTimer;
+  private final Counter fallbackCounter;
+  private volatile boolean running;
+  private Thread committerThread;
+
+  public DeviceGroupCommitter(
+      DeviceRepository deviceRepository,
+      DeviceGroupCommitProperties groupCommitProperties,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry) {
+    this.deviceRepository = deviceRepository;
+    this.groupCommitProperties = groupCommitProperties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.groupSize =
+        DistributionSummary.builder(GROUP_SIZE_METRIC)
+            .description("Devices inserted per group commit")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    this.commitTimer =
+        Timer.builder(GROUP_COMMIT_METRIC)
+            .description("Time to insert and commit one group of devices")
+            .register(meterRegistry);
+    this.fallbackCounter =
+        Counter.builder(GROUP_FALLBACK_METRIC)
+            .description("Failed groups whose devices were retried one by one")
+            .register(meterRegistry);
+  }
+
+  public DeviceEntity insert(DeviceEntity entity) {
+    PendingCreate pending = new PendingCreate(entity, new CompletableFuture<>());
+    queue.add(pending);
+    // Once the committer is stopping it may already have drained the queue for the last time.
+    if (!running && queue.remove(pending)) {
+      commit(List.of(pending));
+    }
+    try {
+      return pending.result().get();
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(ex.getCause());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the device group commit", ex);
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    committerThread =
+        Thread.ofPlatform().daemon().name("device-group-commit").start(this::commitLoop);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    try {
+      committerThread.join(
+          2 * POLL_TIMEOUT_MILLIS + groupCommitProperties.getMaxDelay().toMillis());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void commitLoop() {
+    while (running || !queue.isEmpty()) {
+      try {
+        PendingCreate first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (first != null) {
+          commit(collectGroup(first));
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException ex) {
+        log.error("Device group commit loop failed", ex);
+      }
+    }
+  }
+
+  private List<PendingCreate> collectGroup(PendingCreate first) throws InterruptedException {
+    List<PendingCreate> group = new ArrayList<>(groupCommitProperties.getMaxBatchSize());
+    group.add(first);
+    long deadline = System.nanoTime() + groupCommitProperties.getMaxDelay().toNanos();
+    while (group.size() < groupCommitProperties.getMaxBatchSize()) {
+      queue.drainTo(group, groupCommitProperties.getMaxBatchSize() - group.size());
+      long remaining = deadline - System.nanoTime();
+      if (group.size() >= groupCommitProperties.getMaxBatchSize() || remaining <= 0) {
+        break;
+      }
+      PendingCreate next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        break;
+      }
+      group.add(next);
+    }
+    return group;
+  }
+
+  private void commit(List<PendingCreate> group) {
+    List<DeviceEntity> entities = group.stream().map(PendingCreate::entity).toList();
+    try {
+      commitTimer.record(
+          () ->
+              transactionTemplate.executeWithoutResult(
+                  status -> deviceRepository.insertAll(entities)));
+    } catch (RuntimeException ex) {
+      if (group.size() == 1) {
+        group.get(0).result().completeExceptionally(ex);
+        return;
+      }
+      fallbackCounter.increment();
+      log.warn("Group commit of {} devices failed, inserting them one by one", group.size(), ex);
+      group.forEach(pending -> commit(List.of(pending)));
+      return;
+    }
+    groupSize.record(group.size());
+    group.forEach(pending -> pending.result().complete(pending.entity()));
+  }
+
+  private record PendingCreate(DeviceEntity entity, CompletableFuture<DeviceEntity> result) {}
+}
@@ -0,0 +1,85 @@
+package de.ilyes.device.service;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits a stream into lines like {@link java.io.BufferedReader#readLine()}, but keeps at most
+ * {@code maxLineLength} characters of a line; the rest of a longer line is skipped unread into
+ * memory and the line is reported as too long.
+ */
+final class DeviceImportLineReader {
+  private static final int BUFFER_SIZE = 8192;
+
+  private final Reader reader;
+  private final int maxLineLength;
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private final StringBuilder line = new StringBuilder();
+  private int position;
+  private int limit;
+  private boolean tooLong;
+
+  DeviceImportLineReader(Reader reader, int maxLineLength) {
+    this.reader = reader;
+    this.maxLineLength = maxLineLength;
+  }
+
+  /** Moves to the next line, returning false at the end of the stream. */
+  boolean next() throws IOException {
+    line.setLength(0);
+    tooLong = false;
+    boolean started = false;
+    while (true) {
+      if (position == limit) {
+        int read = reader.read(buffer, 0, BUFFER_SIZE);
+        position = 0;
+        limit = Math.max(read, 0);
+        if (read < 0) {
+          return started && endLine();
+        }
+      }
+      started = true;
+      int start = position;
+      while (position < limit && buffer[position] != '\n') {
+        position++;
+      }
+      append(start, position);
+      if (position < limit) {
+        position++;
+        return endLine();
+      }
+    }
+  }
+
+  String line() {
+    return line.toString();
+  }
+
+  boolean isTooLong() {
+    return tooLong;
+  }
+
+  // One extra character is kept for a trailing '\r', which is not part of the line.
+  private void append(int start, int end) {
+    if (tooLong) {
+      return;
+    }
+    if (line.length() + end - start > maxLineLength + 1) {
+      tooLong = true;
+      line.setLength(0);
+      return;
+    }
+    line.append(buffer, start, end - start);
+  }
+
+  private boolean endLine() {
+    if (!tooLong && !line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+      line.setLength(line.length() - 1);
+    }
+    if (line.length() > maxLineLength) {
+      tooLong = true;
+      line.setLength(0);
+    }
+    return true;
+  }
+}
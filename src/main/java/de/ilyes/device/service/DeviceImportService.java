@@ -0,0 +1,209 @@
+package de.ilyes.device.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.ilyes.device.config.properties.DeviceImportProperties;
+import de.ilyes.device.exception.controlleradvice.ExceptionControllerAdvice;
+import de.ilyes.device.mapper.DeviceMapper;
+import de.ilyes.device.mapper.dto.DeviceCreationDto;
+import de.ilyes.device.mapper.dto.DeviceImportEventDto;
+import de.ilyes.device.mapper.dto.DeviceImportEventType;
+import de.ilyes.device.repository.entity.DeviceEntity;
+import de.ilyes.device.repository.entity.DeviceRepository;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class DeviceImportService {
+  private static final Logger log = LoggerFactory.getLogger(DeviceImportService.class);
+
+  private final DeviceRepository deviceRepository;
+  private final DeviceMapper deviceMapper;
+  private final DeviceStateIndex deviceStateIndex;
+  private final Validator validator;
+  private final DeviceImportProperties importProperties;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final ObjectReader deviceReader;
+  private final ObjectWriter eventWriter;
+
+  public DeviceImportService(
+      DeviceRepository deviceRepository,
+      DeviceMapper deviceMapper,
+      DeviceStateIndex deviceStateIndex,
+      Validator validator,
+      DeviceImportProperties importProperties,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper) {
+    this.deviceRepository = deviceRepository;
+    this.deviceMapper = deviceMapper;
+    this.deviceStateIndex = deviceStateIndex;
+    this.validator = validator;
+    this.importProperties = importProperties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.objectMapper = objectMapper;
+    this.deviceReader = objectMapper.readerFor(DeviceCreationDto.class);
+    this.eventWriter =
+        objectMapper
+            .writerFor(DeviceImportEventDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  public DeviceImportEventDto importDevices(InputStream inputStream, OutputStream outputStream)
+      throws IOException {
+    log.info("Importing devices in chunks of {}", importProperties.getChunkSize());
+    DeviceImportLineReader reader =
+        new DeviceImportLineReader(
+            new InputStreamReader(inputStream, StandardCharsets.UTF_8),
+            importProperties.getMaxLineLength());
+    JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    generator.setRootValueSeparator(null);
+
+    List<DeviceCreationDto> chunk = new ArrayList<>(importProperties.getChunkSize());
+    long lineNumber = 0;
+    long imported = 0;
+    long rejected = 0;
+    while (reader.next()) {
+      lineNumber++;
+      DeviceImportEventDto rejection;
+      if (reader.isTooLong()) {
+        rejection =
+            rejectedEvent(
+                lineNumber,
+                ExceptionControllerAdvice.INVALID_REQUEST_BODY_ERROR_CODE,
+                "Line longer than " + importProperties.getMaxLineLength() + " characters");
+      } else {
+        String line = reader.line();
+        if (line.isBlank()) {
+          continue;
+        }
+        rejection = parse(line, lineNumber, chunk);
+      }
+      if (rejection != null) {
+        rejected++;
+        writeEvent(generator, rejection);
+      }
+      if (chunk.size() >= importProperties.getChunkSize()) {
+        if (!storeChunk(chunk, lineNumber)) {
+          return finish(generator, failedEvent(chunk.size(), lineNumber, imported, rejected));
+        }
+        imported += chunk.size();
+        chunk.clear();
+        writeEvent(
+            generator,
+            countersEvent(DeviceImportEventType.PROGRESS, lineNumber, imported, rejected));
+        generator.flush();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      if (!storeChunk(chunk, lineNumber)) {
+        return finish(generator, failedEvent(chunk.size(), lineNumber, imported, rejected));
+      }
+      imported += chunk.size();
+    }
+    log.info("Devices imported: {}, rejected: {}", imported, rejected);
+    return finish(
+        generator, countersEvent(DeviceImportEventType.COMPLETED, lineNumber, imported, rejected));
+  }
+
+  private DeviceImportEventDto parse(String line, long lineNumber, List<DeviceCreationDto> chunk) {
+    DeviceCreationDto dto;
+    try {
+      dto = deviceReader.readValue(line);
+    } catch (JsonProcessingException ex) {
+      return rejectedEvent(
+          lineNumber,
+          ExceptionControllerAdvice.INVALID_REQUEST_BODY_ERROR_CODE,
+          "Invalid device JSON: " + ex.getOriginalMessage());
+    }
+    String errorMessage = DeviceCreationValidation.validate(validator, dto);
+    if (errorMessage != null) {
+      return rejectedEvent(
+          lineNumber, ExceptionControllerAdvice.VALIDATION_DEVICE_ERROR_CODE, errorMessage);
+    }
+    chunk.add(dto);
+    return null;
+  }
+
+  private boolean storeChunk(List<DeviceCreationDto> chunk, long lineNumber) {
+    List<DeviceEntity> entities = new ArrayList<>(chunk.size());
+    for (DeviceCreationDto dto : chunk) {
+      entities.add(deviceMapper.toEntity(dto));
+    }
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            deviceRepository.insertAll(entities);
+            entities.forEach(
+                entity -> deviceStateIndex.put(entity.getId(), entity.getDeviceState()));
+          });
+      return true;
+    } catch (DataAccessException ex) {
+      log.error("Device import chunk ending at line {} failed", lineNumber, ex);
+      return false;
+    }
+  }
+
+  private DeviceImportEventDto finish(JsonGenerator generator, DeviceImportEventDto event)
+      throws IOException {
+    writeEvent(generator, event);
+    generator.flush();
+    return event;
+  }
+
+  private void writeEvent(JsonGenerator generator, DeviceImportEventDto event) throws IOException {
+    eventWriter.writeValue(generator, event);
+    generator.writeRaw('\n');
+  }
+
+  private static DeviceImportEventDto failedEvent(
+      int chunkSize, long lineNumber, long imported, long rejected) {
+    DeviceImportEventDto event =
+        countersEvent(DeviceImportEventType.FAILED, lineNumber, imported, rejected);
+    event.setErrorCode(ExceptionControllerAdvice.INTERNAL_ERROR_CODE);
+    event.setErrorMessage(
+        "Chunk of "
+            + chunkSize
+            + " devices ending at line "
+            + lineNumber
+            + " could not be stored, import aborted");
+    return event;
+  }
+
+  private static DeviceImportEventDto countersEvent(
+      DeviceImportEventType type, long lineNumber, long imported, long rejected) {
+    return DeviceImportEventDto.builder()
+        .type(type)
+        .processed(lineNumber)
+        .imported(imported)
+        .rejected(rejected)
+        .build();
+  }
+
+  private static DeviceImportEventDto rejectedEvent(
+      long lineNumber, String errorCode, String errorMessage) {
+    return DeviceImportEventDto.builder()
+        .type(DeviceImportEventType.REJECTED)
+        .line(lineNumber)
+        .errorCode(errorCode)
+        .errorMessage(errorMessage)
+        .build();
+  }
+}
@@ -1,112 +1,590 @@
 package de.ilyes.device.service;
 
+import de.ilyes.device.config.cache.CacheConfiguration;
+import de.ilyes.device.config.properties.DeviceBatchProperties;
+import de.ilyes.device.exception.DeviceBatchTooLargeException;
 import de.ilyes.device.exception.DeviceCannotBeDeletedWhileStatusInUseException;
 import de.ilyes.device.exception.DeviceCannotBeUpdatedWhileStatusInUseException;
 import de.ilyes.device.exception.DeviceNotFoundException;
+import de.ilyes.device.exception.DeviceTechnicalException;
+import de.ilyes.device.exception.DeviceVersionMismatchException;
+import de.ilyes.device.exception.InvalidDeviceSearchException;
+import de.ilyes.device.exception.controlleradvice.ExceptionControllerAdvice;
 import de.ilyes.device.mapper.DeviceMapper;
+import de.ilyes.device.mapper.dto.DeviceBatchCreationResultDto;
+import de.ilyes.device.mapper.dto.DeviceBatchItemResultDto;
+import de.ilyes.device.mapper.dto.DeviceBatchItemStatus;
+import de.ilyes.device.mapper.dto.DeviceBulkDeletionDto;
+import de.ilyes.device.mapper.dto.DeviceBulkDeletionResultDto;
+import de.ilyes.device.mapper.dto.DeviceCountMode;
 import de.ilyes.device.mapper.dto.DeviceCreationDto;
+import de.ilyes.device.mapper.dto.DeviceCursorPageDto;
 import de.ilyes.device.mapper.dto.DeviceDto;
+import de.ilyes.device.mapper.dto.DeviceField;
+import de.ilyes.device.mapper.dto.DeviceLookupResultDto;
+import de.ilyes.device.mapper.dto.DeviceMatchMode;
 import de.ilyes.device.mapper.dto.DevicePatchDto;
+import de.ilyes.device.mapper.dto.DeviceSearchCriteria;
 import de.ilyes.device.mapper.dto.DeviceState;
+import de.ilyes.device.mapper.dto.DeviceStateTransitionDto;
+import de.ilyes.device.mapper.dto.DeviceStateTransitionItemDto;
+import de.ilyes.device.mapper.dto.DeviceStateTransitionResultDto;
+import de.ilyes.device.mapper.dto.DeviceStateTransitionStatus;
+import de.ilyes.device.mapper.dto.DeviceStatsDto;
 import de.ilyes.device.mapper.dto.DeviceUpdateDto;
 import de.ilyes.device.repository.entity.DeviceEntity;
+import de.ilyes.device.repository.entity.DeviceKeyset;
 import de.ilyes.device.repository.entity.DeviceRepository;
-import java.util.Optional;
+import de.ilyes.device.repository.entity.DeviceSortColumn;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 @Service
 public class DeviceService {
   private static final Logger log = LoggerFactory.getLogger(DeviceService.class);
+  private static final int MAX_CURSOR_PAGE_SIZE = 2000;
 
   private final DeviceRepository deviceRepository;
   private final DeviceMapper deviceMapper;
+  private final Validator validator;
+  private final DeviceBatchProperties batchProperties;
+  private final CacheManager cacheManager;
+  private final DeviceStateIndex deviceStateIndex;
+  private final DeviceGroupCommitter groupCommitter;
 
-  public DeviceService(DeviceRepository deviceRepository, DeviceMapper deviceMapper) {
+  public DeviceService(
+      DeviceRepository deviceRepository,
+      DeviceMapper deviceMapper,
+      Validator validator,
+      DeviceBatchProperties batchProperties,
+      CacheManager cacheManager,
+      DeviceStateIndex deviceStateIndex,
+      ObjectProvider<DeviceGroupCommitter> groupCommitter) {
     this.deviceRepository = deviceRepository;
     this.deviceMapper = deviceMapper;
+    this.validator = validator;
+    this.batchProperties = batchProperties;
+    this.cacheManager = cacheManager;
+    this.deviceStateIndex = deviceStateIndex;
+    this.groupCommitter = groupCommitter.getIfAvailable();
   }
 
   public DeviceDto create(DeviceCreationDto dto) {
     log.info("Creating a new device");
     DeviceEntity entity = deviceMapper.toEntity(dto);
-    DeviceEntity saved = deviceRepository.save(entity);
+    DeviceEntity saved =
+        groupCommitter != null ? groupCommitter.insert(entity) : deviceRepository.save(entity);
+    deviceStateIndex.put(saved.getId(), saved.getDeviceState());
     DeviceDto result = deviceMapper.toDto(saved);
     log.info("Device created with id: {}", result.getId());
     return result;
   }
 
+  @Transactional
+  public DeviceBatchCreationResultDto createBatch(List<DeviceCreationDto> dtos) {
+    log.info("Creating a batch of {} devices", dtos.size());
+    if (dtos.size() > batchProperties.getMaxSize()) {
+      throw new DeviceBatchTooLargeException(batchProperties.getMaxSize());
+    }
+
+    List<DeviceBatchItemResultDto> items = new ArrayList<>(dtos.size());
+    List<DeviceBatchItemResultDto> createdItems = new ArrayList<>(dtos.size());
+    List<DeviceEntity> entities = new ArrayList<>(dtos.size());
+    for (int index = 0; index < dtos.size(); index++) {
+      DeviceCreationDto dto = dtos.get(index);
+      String errorMessage = validate(dto);
+      DeviceBatchItemResultDto item = DeviceBatchItemResultDto.builder().index(index).build();
+      if (errorMessage != null) {
+        item.setStatus(DeviceBatchItemStatus.REJECTED);
+        item.setErrorCode(ExceptionControllerAdvice.VALIDATION_DEVICE_ERROR_CODE);
+        item.setErrorMessage(errorMessage);
+      } else {
+        item.setStatus(DeviceBatchItemStatus.CREATED);
+        entities.add(deviceMapper.toEntity(dto));
+        createdItems.add(item);
+      }
+      items.add(item);
+    }
+
+    Iterator<DeviceBatchItemResultDto> createdItemsIterator = createdItems.iterator();
+    for (DeviceEntity saved : deviceRepository.saveAll(entities)) {
+      deviceStateIndex.put(saved.getId(), saved.getDeviceState());
+      createdItemsIterator.next().setDevice(deviceMapper.toDto(saved));
+    }
+
+    DeviceBatchCreationResultDto result =
+        DeviceBatchCreationResultDto.builder()
+            .created(createdItems.size())
+            .rejected(items.size() - createdItems.size())
+            .items(items)
+            .build();
+    log.info("Device batch created: {}, rejected: {}", result.getCreated(), result.getRejected());
+    return result;
+  }
+
+  @Cacheable(cacheNames = CacheConfiguration.DEVICE_CACHE, key = "#id")
+  @Transactional(readOnly = true)
   public DeviceDto getById(Long id) {
     log.info("Fetching device by id: {}", id);
-    DeviceDto result =
-        deviceRepository
-            .findById(id)
-            .map(deviceMapper::toDto)
-            .orElseThrow(DeviceNotFoundException::new);
+    DeviceDto result = deviceRepository.findDtoById(id).orElseThrow(DeviceNotFoundException::new);
     log.info("Device found with id: {}", result.getId());
     return result;
   }
 
-  public DeviceDto update(Long id, DeviceUpdateDto dto) {
+  public Long getVersionById(Long id) {
+    Cache cache = cacheManager.getCache(CacheConfiguration.DEVICE_CACHE);
+    DeviceDto cached = cache != null ? cache.get(id, DeviceDto.class) : null;
+    if (cached != null) {
+      return cached.getVersion();
+    }
+    return deviceRepository.findVersionById(id).orElseThrow(DeviceNotFoundException::new);
+  }
+
+  @CachePut(cacheNames = CacheConfiguration.DEVICE_CACHE, key = "#id")
+  public DeviceDto update(Long id, DeviceUpdateDto dto, Long expectedVersion) {
     log.info("Updating device id: {}", id);
-    Optional<DeviceEntity> optional = deviceRepository.findById(id);
-    DeviceEntity deviceEntity = optional.orElseThrow(DeviceNotFoundException::new);
-    deviceEntity.setId(id);
-    verifyIfNameOrBrandUpdateWhileStatusInUse(
-        deviceEntity, dto.getName(), dto.getBrand(), dto.getDeviceState());
-    deviceMapper.updateEntity(dto, deviceEntity);
-    DeviceEntity updated = deviceRepository.save(deviceEntity);
+    DeviceEntity updated =
+        deviceRepository
+            .updateIfAllowed(
+                id, dto.getName(), dto.getBrand(), dto.getDeviceState(), expectedVersion)
+            .orElseThrow(() -> rejectedUpdate(id, expectedVersion));
+    deviceStateIndex.put(id, updated.getDeviceState());
     DeviceDto result = deviceMapper.toDto(updated);
     log.info("Device updated with id: {}", result.getId());
     return result;
   }
 
-  public void delete(Long id) {
+  @CacheEvict(cacheNames = CacheConfiguration.DEVICE_CACHE, key = "#id")
+  public void delete(Long id, Long expectedVersion) {
     log.info("Deleting device by id: {}", id);
-    Optional<DeviceEntity> optional = deviceRepository.findById(id);
-    DeviceEntity deviceEntity = optional.orElseThrow(DeviceNotFoundException::new);
-    if (DeviceState.IN_USE.equals(deviceEntity.getDeviceState())) {
+    if (!deviceRepository.deleteIfNotInUse(id, expectedVersion)) {
+      verifyExpectedVersion(id, expectedVersion);
       throw new DeviceCannotBeDeletedWhileStatusInUseException();
     }
-    deviceRepository.deleteById(id);
+    deviceStateIndex.remove(id);
     log.info("Device deleted, id: {}", id);
   }
 
-  public DeviceDto patchDevice(Long id, DevicePatchDto dto) {
+  @CachePut(cacheNames = CacheConfiguration.DEVICE_CACHE, key = "#id")
+  public DeviceDto patchDevice(Long id, DevicePatchDto dto, Long expectedVersion) {
     log.info("Patching device id: {}", id);
-    Optional<DeviceEntity> optional = deviceRepository.findById(id);
-    DeviceEntity deviceEntity = optional.orElseThrow(DeviceNotFoundException::new);
-    verifyIfNameOrBrandUpdateWhileStatusInUse(
-        deviceEntity, dto.getName(), dto.getBrand(), dto.getDeviceState());
-    deviceMapper.patchEntity(dto, deviceEntity);
-    DeviceEntity saved = deviceRepository.save(deviceEntity);
-    DeviceDto result = deviceMapper.toDto(saved);
+    DeviceEntity patched =
+        deviceRepository
+            .updateIfAllowed(
+                id, dto.getName(), dto.getBrand(), dto.getDeviceState(), expectedVersion)
+            .orElseThrow(() -> rejectedUpdate(id, expectedVersion));
+    deviceStateIndex.put(id, patched.getDeviceState());
+    DeviceDto result = deviceMapper.toDto(patched);
     log.info("Device patched with id: {}", result.getId());
     return result;
   }
 
+  public DeviceStateTransitionResultDto transitionStates(DeviceStateTransitionDto dto) {
+    List<Long> ids = resolveTransitionIds(dto);
+    log.info("Moving {} devices to {}", ids.size(), dto.getDeviceState());
+    Map<Long, DeviceDto> moved = new HashMap<>(ids.size());
+    for (DeviceDto device : deviceRepository.transitionStates(ids, dto.getDeviceState())) {
+      moved.put(device.getId(), device);
+    }
+
+    Cache cache = cacheManager.getCache(CacheConfiguration.DEVICE_CACHE);
+    List<DeviceStateTransitionItemDto> items = new ArrayList<>(ids.size());
+    int updated = 0;
+    int notFound = 0;
+    for (Long id : new TreeSet<>(ids)) {
+      DeviceDto device = moved.get(id);
+      DeviceStateTransitionItemDto item = DeviceStateTransitionItemDto.builder().id(id).build();
+      if (device == null) {
+        item.setStatus(DeviceStateTransitionStatus.NOT_FOUND);
+        item.setErrorCode(DeviceNotFoundException.DEVICE_NOT_FOUND_ERROR_CODE);
+        notFound++;
+      } else {
+        item.setStatus(DeviceStateTransitionStatus.UPDATED);
+        item.setDevice(device);
+        deviceStateIndex.put(id, device.getDeviceState());
+        if (cache != null) {
+          cache.put(id, device);
+        }
+        updated++;
+      }
+      items.add(item);
+    }
+
+    DeviceStateTransitionResultDto result =
+        DeviceStateTransitionResultDto.builder()
+            .updated(updated)
+            .notFound(notFound)
+            .items(items)
+            .build();
+    log.info("Devices moved: {}, not found: {}", result.getUpdated(), result.getNotFound());
+    return result;
+  }
+
+  public DeviceBulkDeletionResultDto deleteAll(DeviceBulkDeletionDto dto) {
+    boolean hasIds = dto.getIds() != null && !dto.getIds().isEmpty();
+    boolean hasFilter =
+        dto.getCreatedTo() != null
+            || StringUtils.hasText(dto.getBrand())
+            || StringUtils.hasText(dto.getName());
+    if (hasIds == hasFilter) {
+      throw new InvalidDeviceSearchException(
+          "Select devices either by ids or by createdTo with an optional brand/name filter.");
+    }
+    if (hasFilter && dto.getCreatedTo() == null) {
+      throw new InvalidDeviceSearchException("createdTo is required when deleting by filter.");
+    }
+
+    DeviceBulkDeletionResultDto result =
+        DeviceBulkDeletionResultDto.builder()
+            .rejectedIds(new ArrayList<>())
+            .notFoundIds(new ArrayList<>())
+            .build();
+    int chunkSize = batchProperties.getDeleteChunkSize();
+    if (hasIds) {
+      List<Long> ids = dto.getIds().stream().distinct().sorted().toList();
+      if (ids.size() > batchProperties.getMaxSize()) {
+        throw new DeviceBatchTooLargeException(batchProperties.getMaxSize());
+      }
+      log.info("Deleting {} devices by id", ids.size());
+      for (int from = 0; from < ids.size(); from += chunkSize) {
+        deleteChunk(ids.subList(from, Math.min(from + chunkSize, ids.size())), result);
+      }
+    } else {
+      log.info("Deleting devices created before {}", dto.getCreatedTo());
+      DeviceSearchCriteria criteria =
+          DeviceSearchCriteria.builder()
+              .brand(dto.getBrand())
+              .name(dto.getName())
+              .createdTo(dto.getCreatedTo())
+              .build();
+      List<Long> ids;
+      Long afterId = null;
+      do {
+        ids = deviceRepository.findIdsByCriteria(criteria, afterId, chunkSize);
+        if (ids.isEmpty()) {
+          break;
+        }
+        deleteChunk(ids, result);
+        afterId = ids.get(ids.size() - 1);
+      } while (ids.size() == chunkSize);
+    }
+    log.info(
+        "Devices deleted: {}, rejected while in use: {}, not found: {}",
+        result.getDeleted(),
+        result.getRejectedIds().size(),
+        result.getNotFoundIds().size());
+    return result;
+  }
+
+  @Transactional(readOnly = true)
+  public DeviceLookupResultDto findByIds(List<Long> ids, Set<DeviceField> fields) {
+    if (ids.size() > batchProperties.getMaxLookupSize()) {
+      throw new DeviceBatchTooLargeException(batchProperties.getMaxLookupSize());
+    }
+    List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+    log.info("Looking up {} devices by id", distinctIds.size());
+    // Cached devices are complete, so they can only answer lookups without a field selection.
+    Cache cache = fields == null ? cacheManager.getCache(CacheConfiguration.DEVICE_CACHE) : null;
+    Map<Long, DeviceDto> found = new HashMap<>(distinctIds.size());
+    List<Long> uncached = new ArrayList<>(distinctIds.size());
+    for (Long id : distinctIds) {
+      DeviceDto cached = cache != null ? cache.get(id, DeviceDto.class) : null;
+      if (cached != null) {
+        found.put(id, cached);
+      } else {
+        uncached.add(id);
+      }
+    }
+    for (DeviceDto device : deviceRepository.findByIds(uncached, fields)) {
+      found.put(device.getId(), device);
+      if (cache != null) {
+        cache.put(device.getId(), device);
+      }
+    }
+
+    List<DeviceDto> devices = new ArrayList<>(found.size());
+    List<Long> missingIds = new ArrayList<>();
+    for (Long id : distinctIds) {
+      DeviceDto device = found.get(id);
+      if (device != null) {
+        devices.add(device);
+      } else {
+        missingIds.add(id);
+      }
+    }
+    log.info("Devices found: {}, missing: {}", devices.size(), missingIds.size());
+    return DeviceLookupResultDto.builder().devices(devices).missingIds(missingIds).build();
+  }
+
+  @Transactional(readOnly = true)
   public Page<DeviceDto> findByBrandOrName(String brand, String name, Pageable pageable) {
     log.info("Finding devices");
+    Page<DeviceDto> result = deviceRepository.findByBrandOrName(brand, name, pageable);
+    log.info("Devices found: {}", result.getTotalElements());
+    return result;
+  }
+
+  @Transactional(readOnly = true)
+  public Page<DeviceDto> search(DeviceSearchCriteria criteria, Pageable pageable) {
+    if (isStateOnly(criteria) && isSortedByIdOnly(pageable)) {
+      return findByStateIndex(criteria.getDeviceState(), criteria.getFields(), pageable);
+    }
+    if (isBrandOrNameOnly(criteria)) {
+      return findByBrandOrName(criteria.getBrand(), criteria.getName(), pageable);
+    }
+    log.info("Finding devices by criteria: {}", criteria);
+    Page<DeviceDto> result = deviceRepository.findByCriteria(criteria, pageable);
+    log.info("Devices found: {}", result.getTotalElements());
+    return result;
+  }
+
+  @Transactional(readOnly = true)
+  public Slice<DeviceDto> search(
+      DeviceSearchCriteria criteria, DeviceCountMode countMode, Pageable pageable) {
+    if (countMode == DeviceCountMode.EXACT
+        || (isStateOnly(criteria) && isSortedByIdOnly(pageable))) {
+      return search(criteria, pageable);
+    }
+    log.info("Finding devices with {} count", countMode.getValue());
+    Slice<DeviceDto> slice =
+        isBrandOrNameOnly(criteria)
+            ? deviceRepository.findSliceByBrandOrName(
+                criteria.getBrand(), criteria.getName(), pageable)
+            : deviceRepository.findSliceByCriteria(criteria, pageable);
+    log.info("Devices found: {}", slice.getNumberOfElements());
+    return switch (countMode) {
+      case NONE -> slice;
+      case ESTIMATE ->
+          withTotal(slice, pageable, () -> deviceRepository.estimateCountByCriteria(criteria));
+      default -> withTotal(slice, pageable, () -> cachedCount(criteria));
+    };
+  }
+
+  @Transactional(readOnly = true)
+  public DeviceCursorPageDto findByBrandOrNameAfter(
+      DeviceSearchCriteria criteria, String after, int size, Sort sort) {
+    log.info("Finding devices with cursor");
+    if (criteria.getMatch() == DeviceMatchMode.FUZZY) {
+      throw new InvalidDeviceSearchException(
+          "Fuzzy match is ranked by similarity and cannot be used with keyset pagination.");
+    }
+    int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    DeviceKeyset keyset = after != null ? DeviceCursorCodec.decode(after) : firstKeyset(sort);
+    List<DeviceDto> devices =
+        isStateOnly(criteria) && keyset.getSortColumn() == DeviceSortColumn.ID
+            ? findByStateIndexAfter(
+                criteria.getDeviceState(), criteria.getFields(), keyset, limit + 1)
+            : deviceRepository.findByCriteriaAfter(criteria, keyset, limit + 1);
+
+    String nextCursor = null;
+    if (devices.size() > limit) {
+      devices = devices.subList(0, limit);
+      nextCursor = DeviceCursorCodec.encode(nextKeyset(keyset, devices.get(limit - 1)));
+    }
+    DeviceCursorPageDto result =
+        DeviceCursorPageDto.builder().content(devices).nextCursor(nextCursor).build();
+    log.info("Devices found: {}", result.getContent().size());
+    return result;
+  }
+
+  public DeviceStatsDto getStats() {
+    Map<DeviceState, Long> byState = deviceStateIndex.counts();
+    long total = byState.values().stream().mapToLong(Long::longValue).sum();
+    return DeviceStatsDto.builder().total(total).byState(byState).build();
+  }
+
+  private Page<DeviceDto> findByStateIndex(
+      DeviceState state, Set<DeviceField> fields, Pageable pageable) {
+    log.info("Finding {} devices from the state index", state);
+    boolean ascending = pageable.getSort().stream().allMatch(Sort.Order::isAscending);
+    List<Long> ids =
+        deviceStateIndex.page(state, pageable.getOffset(), pageable.getPageSize(), ascending);
     Page<DeviceDto> result =
-        deviceRepository.findByBrandOrName(brand, name, pageable).map(deviceMapper::toDto);
+        new PageImpl<>(
+            inIdOrder(ids, state, fields, ascending), pageable, deviceStateIndex.count(state));
     log.info("Devices found: {}", result.getTotalElements());
     return result;
   }
 
-  private void verifyIfNameOrBrandUpdateWhileStatusInUse(
-      DeviceEntity deviceEntity, String name, String brand, DeviceState deviceState) {
-    if (DeviceState.IN_USE.equals(deviceEntity.getDeviceState())) {
-      if (deviceState != null && !DeviceState.IN_USE.equals(deviceState)) {
-        return;
-      }
-      boolean nameChanged = name != null && !name.equals(deviceEntity.getName());
-      boolean brandChanged = brand != null && !brand.equals(deviceEntity.getBrand());
-      if (nameChanged || brandChanged) {
-        throw new DeviceCannotBeUpdatedWhileStatusInUseException();
+  private List<DeviceDto> findByStateIndexAfter(
+      DeviceState state, Set<DeviceField> fields, DeviceKeyset keyset, int limit) {
+    boolean ascending = keyset.getDirection().isAscending();
+    return inIdOrder(
+        deviceStateIndex.after(state, keyset.getLastId(), limit, ascending),
+        state,
+        fields,
+        ascending);
+  }
+
+  // The index may lag behind writes, so the state is checked again when loading the devices.
+  private List<DeviceDto> inIdOrder(
+      List<Long> ids, DeviceState state, Set<DeviceField> fields, boolean ascending) {
+    List<DeviceDto> devices =
+        new ArrayList<>(deviceRepository.findByIdsInState(ids, state, fields));
+    if (!ascending) {
+      Collections.reverse(devices);
+    }
+    return devices;
+  }
+
+  private static boolean isStateOnly(DeviceSearchCriteria criteria) {
+    return criteria.getDeviceState() != null
+        && !StringUtils.hasLength(criteria.getBrand())
+        && !StringUtils.hasLength(criteria.getName())
+        && !hasCreationTimeRange(criteria);
+  }
+
+  private static boolean isBrandOrNameOnly(DeviceSearchCriteria criteria) {
+    return criteria.getMatch() == null
+        && criteria.getDeviceState() == null
+        && criteria.getFields() == null
+        && !hasCreationTimeRange(criteria);
+  }
+
+  private static boolean hasCreationTimeRange(DeviceSearchCriteria criteria) {
+    return criteria.getCreatedFrom() != null || criteria.getCreatedTo() != null;
+  }
+
+  private static boolean isSortedByIdOnly(Pageable pageable) {
+    List<Sort.Order> orders = pageable.getSort().toList();
+    return pageable.isPaged()
+        && (orders.isEmpty()
+            || (orders.size() == 1
+                && DeviceSortColumn.fromProperty(orders.get(0).getProperty())
+                    .filter(DeviceSortColumn.ID::equals)
+                    .isPresent()));
+  }
+
+  // The last page already tells the exact total, so the count is only needed while more rows
+  // follow; an estimate is never allowed to claim fewer rows than were actually seen.
+  private static Page<DeviceDto> withTotal(
+      Slice<DeviceDto> slice, Pageable pageable, LongSupplier totalSupplier) {
+    long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+    long seen = offset + slice.getNumberOfElements();
+    long total =
+        !slice.hasNext() && (slice.hasContent() || offset == 0)
+            ? seen
+            : Math.max(totalSupplier.getAsLong(), slice.hasNext() ? seen + 1 : seen);
+    return new PageImpl<>(slice.getContent(), pageable, total);
+  }
+
+  private long cachedCount(DeviceSearchCriteria criteria) {
+    Cache cache = cacheManager.getCache(CacheConfiguration.DEVICE_COUNT_CACHE);
+    if (cache == null) {
+      return deviceRepository.countByCriteria(criteria);
+    }
+    Long count = cache.get(criteria.countKey(), () -> deviceRepository.countByCriteria(criteria));
+    return count != null ? count : 0;
+  }
+
+  private DeviceKeyset firstKeyset(Sort sort) {
+    Sort.Order order =
+        sort.stream().findFirst().orElse(Sort.Order.asc(DeviceSortColumn.ID.getProperty()));
+    DeviceSortColumn sortColumn =
+        DeviceSortColumn.fromProperty(order.getProperty())
+            .orElseThrow(
+                () ->
+                    new InvalidDeviceSearchException(
+                        "Unsupported sort property: " + order.getProperty()));
+    return DeviceKeyset.builder().sortColumn(sortColumn).direction(order.getDirection()).build();
+  }
+
+  private DeviceKeyset nextKeyset(DeviceKeyset keyset, DeviceDto last) {
+    Object lastValue =
+        switch (keyset.getSortColumn()) {
+          case ID -> null;
+          case NAME -> last.getName();
+          case BRAND -> last.getBrand();
+          case CREATION_TIME -> last.getCreationTime().toOffsetDateTime();
+        };
+    return DeviceKeyset.builder()
+        .sortColumn(keyset.getSortColumn())
+        .direction(keyset.getDirection())
+        .lastId(last.getId())
+        .lastValue(lastValue)
+        .build();
+  }
+
+  // Each chunk is its own statement and transaction, so row locks are held for one chunk only.
+  private void deleteChunk(List<Long> ids, DeviceBulkDeletionResultDto result) {
+    Map<Long, Boolean> outcomes = deviceRepository.deleteAllIfNotInUse(ids);
+    Cache cache = cacheManager.getCache(CacheConfiguration.DEVICE_CACHE);
+    for (Long id : ids) {
+      Boolean deleted = outcomes.get(id);
+      if (deleted == null) {
+        result.getNotFoundIds().add(id);
+      } else if (deleted) {
+        result.setDeleted(result.getDeleted() + 1);
+        deviceStateIndex.remove(id);
+        if (cache != null) {
+          cache.evict(id);
+        }
+      } else {
+        result.getRejectedIds().add(id);
       }
     }
   }
+
+  private List<Long> resolveTransitionIds(DeviceStateTransitionDto dto) {
+    boolean hasIds = dto.getIds() != null && !dto.getIds().isEmpty();
+    boolean hasFilter = StringUtils.hasText(dto.getBrand()) || StringUtils.hasText(dto.getName());
+    if (hasIds == hasFilter) {
+      throw new InvalidDeviceSearchException(
+          "Select devices either by ids or by a brand/name filter.");
+    }
+    int maxSize = batchProperties.getMaxSize();
+    List<Long> ids =
+        hasIds
+            ? dto.getIds().stream().distinct().toList()
+            : deviceRepository.findIdsByCriteria(
+                DeviceSearchCriteria.builder().brand(dto.getBrand()).name(dto.getName()).build(),
+                null,
+                maxSize + 1);
+    if (ids.size() > maxSize) {
+      throw new DeviceBatchTooLargeException(maxSize);
+    }
+    return ids;
+  }
+
+  private String validate(DeviceCreationDto dto) {
+    return DeviceCreationValidation.validate(validator, dto);
+  }
+
+  private DeviceTechnicalException rejectedUpdate(Long id, Long expectedVersion) {
+    verifyExpectedVersion(id, expectedVersion);
+    return new DeviceCannotBeUpdatedWhileStatusInUseException();
+  }
+
+  private void verifyExpectedVersion(Long id, Long expectedVersion) {
+    Long currentVersion =
+        deviceRepository.findVersionById(id).orElseThrow(DeviceNotFoundException::new);
+    if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+      throw new DeviceVersionMismatchException();
+    }
+  }
 }
@@ -0,0 +1,228 @@
+package de.ilyes.device.service;
+
+import de.ilyes.device.config.datasource.PrimaryReads;
+import de.ilyes.device.mapper.dto.DeviceState;
+import de.ilyes.device.repository.entity.DeviceRepository;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.PeekableLongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory bitmap of device ids per {@link DeviceState}, loaded in one streaming pass before the
+ * web server accepts requests and kept current by the services that write devices. Changes made
+ * inside a transaction are applied only once it commits.
+ *
+ * <p>Writes made by other instances reach the index through the {@code device_changes}
+ * notifications handled by {@link DeviceChangeListener}, which rebuilds the index after
+ * reconnecting since notifications sent while its connection is down are lost. A periodic rebuild
+ * scans the whole table on the primary and is therefore opt-in through {@code
+ * device.state-index.rebuild-cron}. Readers must still treat the index as a candidate set and
+ * re-check the state in the database.
+ */
+@Component
+public class DeviceStateIndex implements SmartInitializingSingleton {
+  private static final Logger log = LoggerFactory.getLogger(DeviceStateIndex.class);
+
+  private final DeviceRepository deviceRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private Map<DeviceState, Roaring64Bitmap> bitmaps = emptyBitmaps();
+  // Changes applied while a rebuild streams the table, replayed onto the loaded bitmaps.
+  private List<Consumer<Map<DeviceState, Roaring64Bitmap>>> changesDuringRebuild;
+
+  public DeviceStateIndex(
+      DeviceRepository deviceRepository, PlatformTransactionManager transactionManager) {
+    this.deviceRepository = deviceRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    rebuild();
+  }
+
+  @Scheduled(cron = "${device.state-index.rebuild-cron:-}")
+  public void rebuild() {
+    lock.writeLock().lock();
+    try {
+      changesDuringRebuild = new ArrayList<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+    Map<DeviceState, Roaring64Bitmap> loaded = emptyBitmaps();
+    try {
+      streamFromPrimary(loaded);
+    } catch (RuntimeException ex) {
+      lock.writeLock().lock();
+      try {
+        changesDuringRebuild = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      throw ex;
+    }
+    loaded.values().forEach(Roaring64Bitmap::runOptimize);
+    lock.writeLock().lock();
+    try {
+      changesDuringRebuild.forEach(change -> change.accept(loaded));
+      changesDuringRebuild = null;
+      bitmaps = loaded;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info("Device state index loaded: {}", counts());
+  }
+
+  public void put(Long id, DeviceState state) {
+    afterCommit(
+        () ->
+            change(
+                indexed ->
+                    indexed.forEach(
+                        (indexedState, bitmap) -> {
+                          if (indexedState == state) {
+                            bitmap.addLong(id);
+                          } else {
+                            bitmap.removeLong(id);
+                          }
+                        })));
+  }
+
+  public void remove(Long id) {
+    afterCommit(() -> change(indexed -> indexed.values().forEach(bitmap -> bitmap.removeLong(id))));
+  }
+
+  // pgjdbc only honours the fetch size inside a transaction, otherwise the whole result set is
+  // loaded at once. The primary is read so a lagging replica cannot undo changes already applied.
+  private void streamFromPrimary(Map<DeviceState, Roaring64Bitmap> loaded) {
+    boolean primaryAlreadyRequired = PrimaryReads.isRequired();
+    PrimaryReads.require();
+    try {
+      readOnlyTransaction.executeWithoutResult(
+          status ->
+              deviceRepository.streamDeviceStates((id, state) -> loaded.get(state).addLong(id)));
+    } finally {
+      if (!primaryAlreadyRequired) {
+        PrimaryReads.clear();
+      }
+    }
+  }
+
+  private void change(Consumer<Map<DeviceState, Roaring64Bitmap>> change) {
+    lock.writeLock().lock();
+    try {
+      change.accept(bitmaps);
+      if (changesDuringRebuild != null) {
+        changesDuringRebuild.add(change);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public long count(DeviceState state) {
+    lock.readLock().lock();
+    try {
+      return bitmaps.get(state).getLongCardinality();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public Map<DeviceState, Long> counts() {
+    Map<DeviceState, Long> counts = new EnumMap<>(DeviceState.class);
+    lock.readLock().lock();
+    try {
+      bitmaps.forEach((state, bitmap) -> counts.put(state, bitmap.getLongCardinality()));
+    } finally {
+      lock.readLock().unlock();
+    }
+    return counts;
+  }
+
+  /** Ids at positions [offset, offset + limit) of the state, in id order. */
+  public List<Long> page(DeviceState state, long offset, int limit, boolean ascending) {
+    lock.readLock().lock();
+    try {
+      Roaring64Bitmap bitmap = bitmaps.get(state);
+      long cardinality = bitmap.getLongCardinality();
+      if (offset >= cardinality) {
+        return List.of();
+      }
+      long first = bitmap.select(ascending ? offset : cardinality - 1 - offset);
+      return collect(iteratorFrom(bitmap, first, ascending), limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Up to limit ids of the state strictly after lastId in id order, or from the start. */
+  public List<Long> after(DeviceState state, Long lastId, int limit, boolean ascending) {
+    lock.readLock().lock();
+    try {
+      Roaring64Bitmap bitmap = bitmaps.get(state);
+      if (lastId == null) {
+        return collect(
+            ascending ? bitmap.getLongIterator() : bitmap.getReverseLongIterator(), limit);
+      }
+      if (!ascending && lastId <= 0) {
+        return List.of();
+      }
+      return collect(iteratorFrom(bitmap, ascending ? lastId + 1 : lastId - 1, ascending), limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private static PeekableLongIterator iteratorFrom(
+      Roaring64Bitmap bitmap, long from, boolean ascending) {
+    return ascending ? bitmap.getLongIteratorFrom(from) : bitmap.getReverseLongIteratorFrom(from);
+  }
+
+  private static List<Long> collect(LongIterator iterator, int limit) {
+    List<Long> ids = new ArrayList<>(limit);
+    while (ids.size() < limit && iterator.hasNext()) {
+      ids.add(iterator.next());
+    }
+    return ids;
+  }
+
+  private static void afterCommit(Runnable change) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      change.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            change.run();
+          }
+        });
+  }
+
+  private static Map<DeviceState, Roaring64Bitmap> emptyBitmaps() {
+    Map<DeviceState, Roaring64Bitmap> bitmaps = new EnumMap<>(DeviceState.class);
+    for (DeviceState state : DeviceState.values()) {
+      bitmaps.put(state, new Roaring64Bitmap());
+    }
+    return bitmaps;
+  }
+}
@@ -0,0 +1,137 @@
+package de.ilyes.device.service.outbox;
+
+import de.ilyes.device.config.properties.DeviceOutboxProperties;
+import de.ilyes.device.repository.outbox.DeviceOutboxEvent;
+import de.ilyes.device.repository.outbox.DeviceOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains the device outbox filled by the {@code devices_write_outbox} trigger. Each batch is
+ * claimed with {@code FOR UPDATE SKIP LOCKED}, handed to the {@link DeviceOutboxSink} and marked
+ * dispatched in one transaction, so instances share the backlog without handing out the same event
+ * twice while it is in flight. Dispatched rows are deleted once older than the retention.
+ */
+@Component
+@ConditionalOnProperty(prefix = "device.outbox", name = "enabled", matchIfMissing = true)
+public class DeviceOutboxDispatcher {
+  private static final Logger log = LoggerFactory.getLogger(DeviceOutboxDispatcher.class);
+
+  public static final String DISPATCHED_METRIC = "device.outbox.dispatched";
+  public static final String FAILURES_METRIC = "device.outbox.dispatch.failures";
+  public static final String BATCH_METRIC = "device.outbox.batch";
+  public static final String LAG_METRIC = "device.outbox.lag";
+  public static final String OLDEST_PENDING_AGE_METRIC = "device.outbox.oldest.pending.age";
+
+  private final DeviceOutboxRepository outboxRepository;
+  private final DeviceOutboxSink sink;
+  private final DeviceOutboxProperties outboxProperties;
+  private final TransactionTemplate transactionTemplate;
+  private final Counter dispatchedCounter;
+  private final Counter failuresCounter;
+  private final Timer batchTimer;
+  private final Timer lagTimer;
+  private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+
+  public DeviceOutboxDispatcher(
+      DeviceOutboxRepository outboxRepository,
+      DeviceOutboxSink sink,
+      DeviceOutboxProperties outboxProperties,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry) {
+    this.outboxRepository = outboxRepository;
+    this.sink = sink;
+    this.outboxProperties = outboxProperties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.dispatchedCounter =
+        Counter.builder(DISPATCHED_METRIC)
+            .description("Outbox events handed to the sink")
+            .register(meterRegistry);
+    this.failuresCounter =
+        Counter.builder(FAILURES_METRIC)
+            .description("Outbox batches that failed and will be retried")
+            .register(meterRegistry);
+    this.batchTimer =
+        Timer.builder(BATCH_METRIC)
+            .description("Time to claim, dispatch and mark one outbox batch")
+            .register(meterRegistry);
+    this.lagTimer =
+        Timer.builder(LAG_METRIC)
+            .description("Time between a device change and the dispatch of its outbox event")
+            .register(meterRegistry);
+    Gauge.builder(OLDEST_PENDING_AGE_METRIC, oldestPendingAgeMillis, age -> age.get() / 1000.0)
+        .description("Age of the oldest outbox event not dispatched yet")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${device.outbox.poll-interval:500ms}")
+  public void dispatchPending() {
+    for (int batch = 0; batch < outboxProperties.getMaxBatchesPerRun(); batch++) {
+      Integer dispatched;
+      try {
+        dispatched =
+            batchTimer.record(() -> transactionTemplate.execute(status -> dispatchBatch()));
+      } catch (RuntimeException ex) {
+        failuresCounter.increment();
+        log.error("Device outbox batch failed, it will be retried", ex);
+        break;
+      }
+      if (dispatched == null || dispatched < outboxProperties.getBatchSize()) {
+        break;
+      }
+    }
+    oldestPendingAgeMillis.set(
+        outboxRepository
+            .findOldestPendingCreatedOn()
+            .map(createdOn -> Duration.between(createdOn, Instant.now()).toMillis())
+            .orElse(0L));
+  }
+
+  @Scheduled(fixedDelayString = "${device.outbox.cleanup-interval:1m}")
+  public void deleteDispatched() {
+    Instant cutoff = Instant.now().minus(outboxProperties.getRetention());
+    int deleted;
+    int total = 0;
+    do {
+      deleted =
+          outboxRepository.deleteDispatchedBefore(cutoff, outboxProperties.getCleanupBatchSize());
+      total += deleted;
+    } while (deleted == outboxProperties.getCleanupBatchSize());
+    if (total > 0) {
+      log.info("Deleted {} dispatched device outbox events", total);
+    }
+  }
+
+  private int dispatchBatch() {
+    List<DeviceOutboxEvent> events = outboxRepository.lockPending(outboxProperties.getBatchSize());
+    if (events.isEmpty()) {
+      return 0;
+    }
+    try {
+      sink.dispatch(events);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    outboxRepository.markDispatched(events);
+    Instant now = Instant.now();
+    events.forEach(event -> lagTimer.record(Duration.between(event.createdOn(), now)));
+    dispatchedCounter.increment(events.size());
+    return events.size();
+  }
+}
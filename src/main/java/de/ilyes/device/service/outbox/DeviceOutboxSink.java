@@ -0,0 +1,14 @@
+package de.ilyes.device.service.outbox;
+
+import de.ilyes.device.repository.outbox.DeviceOutboxEvent;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of outbox events. A batch is marked dispatched only when this call returns, so a sink
+ * sees every event at least once and may see a batch again after a failure.
+ */
+public interface DeviceOutboxSink {
+
+  void dispatch(List<DeviceOutboxEvent> events) throws IOException;
+}
@@ -0,0 +1,43 @@
+package de.ilyes.device.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import de.ilyes.device.config.properties.DeviceOutboxProperties;
+import de.ilyes.device.repository.outbox.DeviceOutboxEvent;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Appends outbox events as NDJSON to {@code device.outbox.file-path}. */
+@Component
+@ConditionalOnProperty(prefix = "device.outbox", name = "sink", havingValue = "file")
+public class FileDeviceOutboxSink implements DeviceOutboxSink {
+
+  private final DeviceOutboxProperties outboxProperties;
+  private final ObjectWriter eventWriter;
+
+  public FileDeviceOutboxSink(DeviceOutboxProperties outboxProperties, ObjectMapper objectMapper) {
+    this.outboxProperties = outboxProperties;
+    this.eventWriter = objectMapper.writerFor(DeviceOutboxEvent.class);
+  }
+
+  @Override
+  public synchronized void dispatch(List<DeviceOutboxEvent> events) throws IOException {
+    try (BufferedWriter writer =
+        Files.newBufferedWriter(
+            outboxProperties.getFilePath(),
+            StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND)) {
+      for (DeviceOutboxEvent event : events) {
+        writer.write(eventWriter.writeValueAsString(event));
+        writer.newLine();
+      }
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package de.ilyes.device.service.outbox;
+
+import de.ilyes.device.repository.outbox.DeviceOutboxEvent;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/** Publishes every outbox event as a Spring application event of this instance. */
+@Component
+@ConditionalOnProperty(
+    prefix = "device.outbox",
+    name = "sink",
+    havingValue = "in-process",
+    matchIfMissing = true)
+public class InProcessDeviceOutboxSink implements DeviceOutboxSink {
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  public InProcessDeviceOutboxSink(ApplicationEventPublisher eventPublisher) {
+    this.eventPublisher = eventPublisher;
+  }
+
+  @Override
+  public void dispatch(List<DeviceOutboxEvent> events) {
+    events.forEach(eventPublisher::publishEvent);
+  }
+}
@@ -0,0 +1,87 @@
+package de.ilyes.device.service.partition;
+
+import de.ilyes.device.config.cache.CacheConfiguration;
+import de.ilyes.device.config.properties.DevicePartitionProperties;
+import de.ilyes.device.repository.partition.DevicePartitionRepository;
+import de.ilyes.device.service.DeviceStateIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a monthly {@code devices} partition for every creation time a new device may carry, so new
+ * devices do not land in the default partition, and, when {@code device.partitions.archive-after}
+ * is set, detaches the months older than that into the {@code device_archive} schema.
+ */
+@Component
+@ConditionalOnProperty(prefix = "device.partitions", name = "enabled", matchIfMissing = true)
+public class DevicePartitionMaintainer {
+  private static final Logger log = LoggerFactory.getLogger(DevicePartitionMaintainer.class);
+
+  public static final String DEFAULT_PARTITION_ROWS_METRIC = "device.partitions.default.rows";
+
+  private final DevicePartitionRepository partitionRepository;
+  private final DevicePartitionProperties partitionProperties;
+  private final DeviceStateIndex deviceStateIndex;
+  private final CacheManager cacheManager;
+  private final AtomicLong defaultPartitionRows = new AtomicLong();
+
+  public DevicePartitionMaintainer(
+      DevicePartitionRepository partitionRepository,
+      DevicePartitionProperties partitionProperties,
+      DeviceStateIndex deviceStateIndex,
+      CacheManager cacheManager,
+      MeterRegistry meterRegistry) {
+    this.partitionRepository = partitionRepository;
+    this.partitionProperties = partitionProperties;
+    this.deviceStateIndex = deviceStateIndex;
+    this.cacheManager = cacheManager;
+    Gauge.builder(DEFAULT_PARTITION_ROWS_METRIC, defaultPartitionRows, AtomicLong::get)
+        .description("Devices stored in the default partition, outside every monthly partition")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${device.partitions.maintenance-interval:1h}")
+  public void maintainPartitions() {
+    List<String> created =
+        partitionRepository.ensurePartitions(
+            partitionProperties.getMonthsBehind(), partitionProperties.getMonthsAhead());
+    if (!created.isEmpty()) {
+      log.info("Created device partitions {}", created);
+    }
+    if (partitionProperties.getArchiveAfter() != null) {
+      archivePartitions();
+    }
+    defaultPartitionRows.set(partitionRepository.countDefaultPartitionRows());
+  }
+
+  private void archivePartitions() {
+    Instant cutoff =
+        LocalDate.now(ZoneOffset.UTC)
+            .minus(partitionProperties.getArchiveAfter())
+            .atStartOfDay(ZoneOffset.UTC)
+            .toInstant();
+    List<String> archived = partitionRepository.archivePartitionsBefore(cutoff);
+    if (archived.isEmpty()) {
+      return;
+    }
+    log.info("Archived device partitions {}", archived);
+    // Archived devices are no longer readable, drop everything still pointing at them.
+    deviceStateIndex.rebuild();
+    Cache cache = cacheManager.getCache(CacheConfiguration.DEVICE_CACHE);
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+}
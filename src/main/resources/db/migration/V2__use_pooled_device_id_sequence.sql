@@ -0,0 +1 @@
+ALTER SEQUENCE device_id_seq INCREMENT BY 50;
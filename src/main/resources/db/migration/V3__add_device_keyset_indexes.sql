@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS idx_devices_name_id ON devices (name, id);
+
+CREATE INDEX IF NOT EXISTS idx_devices_brand_id ON devices (brand, id);
+
+CREATE INDEX IF NOT EXISTS idx_devices_creation_time_id ON devices (creation_time, id);
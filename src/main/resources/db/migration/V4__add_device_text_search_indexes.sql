@@ -0,0 +1,9 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_devices_lower_name ON devices (LOWER(name) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_devices_lower_brand ON devices (LOWER(brand) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_devices_lower_name_trgm ON devices USING gin (LOWER(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_devices_lower_brand_trgm ON devices USING gin (LOWER(brand) gin_trgm_ops);
@@ -0,0 +1,28 @@
+CREATE OR REPLACE FUNCTION notify_device_change() RETURNS TRIGGER AS
+$$
+DECLARE
+    device RECORD;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        device := OLD;
+    ELSE
+        device := NEW;
+    END IF;
+    PERFORM pg_notify('device_changes', json_build_object(
+            'operation', TG_OP,
+            'id', device.id,
+            'name', device.name,
+            'brand', device.brand,
+            'deviceState', device.device_state,
+            'previousState', CASE WHEN TG_OP <> 'INSERT' THEN OLD.device_state END,
+            'creationTime', device.creation_time,
+            'version', device.version)::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER devices_notify_change
+    AFTER INSERT OR UPDATE OR DELETE
+    ON devices
+    FOR EACH ROW
+EXECUTE FUNCTION notify_device_change();
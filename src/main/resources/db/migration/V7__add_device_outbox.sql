@@ -0,0 +1,45 @@
+CREATE TABLE device_outbox
+(
+    id            BIGSERIAL,
+    device_id     BIGINT                   NOT NULL,
+    event_type    VARCHAR(16)              NOT NULL,
+    payload       JSONB                    NOT NULL,
+    created_on    TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT clock_timestamp(),
+    dispatched_on TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT pk_device_outbox PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_device_outbox_pending ON device_outbox (id) WHERE dispatched_on IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_device_outbox_dispatched_on ON device_outbox (dispatched_on) WHERE dispatched_on IS NOT NULL;
+
+CREATE OR REPLACE FUNCTION write_device_outbox() RETURNS TRIGGER AS
+$$
+DECLARE
+    device RECORD;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        device := OLD;
+    ELSE
+        device := NEW;
+    END IF;
+    INSERT INTO device_outbox (device_id, event_type, payload)
+    VALUES (device.id,
+            CASE TG_OP WHEN 'INSERT' THEN 'CREATED' WHEN 'UPDATE' THEN 'UPDATED' ELSE 'DELETED' END,
+            jsonb_build_object(
+                    'id', device.id,
+                    'name', device.name,
+                    'brand', device.brand,
+                    'deviceState', device.device_state,
+                    'previousState', CASE WHEN TG_OP <> 'INSERT' THEN OLD.device_state END,
+                    'creationTime', device.creation_time,
+                    'version', device.version));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER devices_write_outbox
+    AFTER INSERT OR UPDATE OR DELETE
+    ON devices
+    FOR EACH ROW
+EXECUTE FUNCTION write_device_outbox();
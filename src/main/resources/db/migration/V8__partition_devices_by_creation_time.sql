@@ -0,0 +1,133 @@
+-- The primary key has to contain the partition key. Ids stay unique because every writer draws
+-- them from device_id_seq.
+ALTER TABLE devices RENAME TO devices_unpartitioned;
+ALTER TABLE devices_unpartitioned RENAME CONSTRAINT pk_device TO pk_device_unpartitioned;
+DROP TRIGGER devices_notify_change ON devices_unpartitioned;
+DROP TRIGGER devices_write_outbox ON devices_unpartitioned;
+
+CREATE TABLE devices
+(
+    id              BIGINT                   NOT NULL DEFAULT nextval('device_id_seq'),
+    name            VARCHAR(255)             NOT NULL,
+    brand           VARCHAR(255)             NOT NULL,
+    device_state    VARCHAR(255)             NOT NULL,
+    creation_time   TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_on      TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    last_updated_on TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    version         BIGINT                   NOT NULL DEFAULT 0,
+    CONSTRAINT pk_device PRIMARY KEY (id, creation_time)
+) PARTITION BY RANGE (creation_time);
+
+CREATE TABLE devices_default PARTITION OF devices DEFAULT;
+
+-- Creates the partition holding the UTC month of the given date unless it exists. Rows that
+-- already landed in the default partition are moved while it is detached, so the move does not
+-- fire the change triggers.
+CREATE OR REPLACE FUNCTION create_device_partition(month DATE) RETURNS TEXT AS
+$$
+DECLARE
+    partition_name TEXT        := format('devices_p%s', to_char(month, 'YYYY_MM'));
+    range_start    TIMESTAMPTZ := date_trunc('month', month::TIMESTAMP) AT TIME ZONE 'UTC';
+    range_end      TIMESTAMPTZ := (date_trunc('month', month::TIMESTAMP) + INTERVAL '1 month') AT TIME ZONE 'UTC';
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('device_partitions'));
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+    IF NOT EXISTS(SELECT 1
+                  FROM devices_default
+                  WHERE creation_time >= range_start
+                    AND creation_time < range_end) THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF devices FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, range_start, range_end);
+        RETURN partition_name;
+    END IF;
+    ALTER TABLE devices DETACH PARTITION devices_default;
+    EXECUTE format('CREATE TABLE %I (LIKE devices INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM devices_default WHERE creation_time >= $1 AND creation_time < $2 '
+                       || 'RETURNING *) INSERT INTO %I SELECT * FROM moved', partition_name)
+        USING range_start, range_end;
+    EXECUTE format('ALTER TABLE devices ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_start, range_end);
+    ALTER TABLE devices ATTACH PARTITION devices_default DEFAULT;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Makes sure every UTC month from months_behind before the current one to months_ahead after it
+-- has a partition.
+CREATE OR REPLACE FUNCTION ensure_device_partitions(months_behind INT, months_ahead INT) RETURNS SETOF TEXT AS
+$$
+SELECT partition_name
+FROM generate_series(-months_behind, months_ahead) AS month_offset,
+     LATERAL create_device_partition(
+             (date_trunc('month', now() AT TIME ZONE 'UTC') + month_offset * INTERVAL '1 month')::DATE)
+         AS partition_name
+WHERE partition_name IS NOT NULL;
+$$ LANGUAGE sql;
+
+CREATE SCHEMA IF NOT EXISTS device_archive;
+
+-- Detaches every monthly partition that ends at or before the cutoff and moves it to the
+-- device_archive schema, where it can be dumped or dropped without touching live devices.
+CREATE OR REPLACE FUNCTION archive_device_partitions(cutoff TIMESTAMPTZ) RETURNS SETOF TEXT AS
+$$
+DECLARE
+    partition_name TEXT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('device_partitions'));
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+                 JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'devices'::REGCLASS
+          AND c.relname ~ '^devices_p\d{4}_\d{2}$'
+          AND (to_date(substr(c.relname, 10), 'YYYY_MM')::TIMESTAMP + INTERVAL '1 month') AT TIME ZONE 'UTC' <= cutoff
+        ORDER BY c.relname
+        LOOP
+            EXECUTE format('ALTER TABLE devices DETACH PARTITION %I', partition_name);
+            EXECUTE format('ALTER TABLE %I SET SCHEMA device_archive', partition_name);
+            RETURN NEXT partition_name;
+        END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_device_partition(month::DATE)
+FROM generate_series(
+             (SELECT date_trunc('month', MIN(creation_time) AT TIME ZONE 'UTC') FROM devices_unpartitioned),
+             date_trunc('month', now() AT TIME ZONE 'UTC'),
+             INTERVAL '1 month') AS month;
+
+SELECT ensure_device_partitions(6, 3);
+
+INSERT INTO devices (id, name, brand, device_state, creation_time, created_on, last_updated_on, version)
+SELECT id, name, brand, device_state, creation_time, created_on, last_updated_on, version
+FROM devices_unpartitioned;
+
+DROP TABLE devices_unpartitioned;
+
+CREATE INDEX IF NOT EXISTS idx_devices_name_id ON devices (name, id);
+
+CREATE INDEX IF NOT EXISTS idx_devices_brand_id ON devices (brand, id);
+
+CREATE INDEX IF NOT EXISTS idx_devices_creation_time_id ON devices (creation_time, id);
+
+CREATE INDEX IF NOT EXISTS idx_devices_lower_name ON devices (LOWER(name) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_devices_lower_brand ON devices (LOWER(brand) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_devices_lower_name_trgm ON devices USING gin (LOWER(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_devices_lower_brand_trgm ON devices USING gin (LOWER(brand) gin_trgm_ops);
+
+CREATE TRIGGER devices_notify_change
+    AFTER INSERT OR UPDATE OR DELETE
+    ON devices
+    FOR EACH ROW
+EXECUTE FUNCTION notify_device_change();
+
+CREATE TRIGGER devices_write_outbox
+    AFTER INSERT OR UPDATE OR DELETE
+    ON devices
+    FOR EACH ROW
+EXECUTE FUNCTION write_device_outbox();
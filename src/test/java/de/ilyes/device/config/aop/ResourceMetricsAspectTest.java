@@ -0,0 +1,82 @@
+package de.ilyes.device.config.aop;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import de.ilyes.device.exception.DeviceCannotBeDeletedWhileStatusInUseException;
+import de.ilyes.device.exception.DeviceNotFoundException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+class ResourceMetricsAspectTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private ResourceMetricsAspect aspect;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    aspect = new ResourceMetricsAspect(meterRegistry);
+  }
+
+  @Test
+  void timeExecution_WhenMethodSucceeds_ShouldRecordSuccessOutcome() throws Throwable {
+    ProceedingJoinPoint joinPoint = joinPoint("getById");
+    when(joinPoint.proceed()).thenReturn(ResponseEntity.ok().build());
+
+    aspect.timeExecution(joinPoint);
+
+    assertEquals(1, timer("getById", "SUCCESS", "none").count());
+  }
+
+  @Test
+  void timeExecution_WhenResponseIsNotFound_ShouldRecordNotFoundOutcome() throws Throwable {
+    ProceedingJoinPoint joinPoint = joinPoint("getById");
+    when(joinPoint.proceed()).thenReturn(ResponseEntity.notFound().build());
+
+    aspect.timeExecution(joinPoint);
+
+    assertEquals(1, timer("getById", "NOT_FOUND", "none").count());
+  }
+
+  @Test
+  void timeExecution_WhenBusinessExceptionThrown_ShouldRecordOutcomeAndRethrow() throws Throwable {
+    ProceedingJoinPoint getJoinPoint = joinPoint("getById");
+    when(getJoinPoint.proceed()).thenThrow(new DeviceNotFoundException());
+    ProceedingJoinPoint deleteJoinPoint = joinPoint("delete");
+    when(deleteJoinPoint.proceed()).thenThrow(new DeviceCannotBeDeletedWhileStatusInUseException());
+
+    assertThrows(DeviceNotFoundException.class, () -> aspect.timeExecution(getJoinPoint));
+    assertThrows(
+        DeviceCannotBeDeletedWhileStatusInUseException.class,
+        () -> aspect.timeExecution(deleteJoinPoint));
+
+    assertEquals(1, timer("getById", "NOT_FOUND", "DeviceNotFoundException").count());
+    assertEquals(
+        1,
+        timer("delete", "IN_USE_VIOLATION", "DeviceCannotBeDeletedWhileStatusInUseException")
+            .count());
+  }
+
+  private Timer timer(String method, String outcome, String exception) {
+    return meterRegistry
+        .get(ResourceMetricsAspect.RESOURCE_INVOCATIONS_METRIC)
+        .tag("method", method)
+        .tag("outcome", outcome)
+        .tag("exception", exception)
+        .timer();
+  }
+
+  private static ProceedingJoinPoint joinPoint(String method) {
+    ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+    Signature signature = mock(Signature.class);
+    when(signature.getName()).thenReturn(method);
+    when(joinPoint.getSignature()).thenReturn(signature);
+    return joinPoint;
+  }
+}
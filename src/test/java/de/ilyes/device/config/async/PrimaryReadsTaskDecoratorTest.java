@@ -0,0 +1,38 @@
+package de.ilyes.device.config.async;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.ilyes.device.config.datasource.PrimaryReads;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PrimaryReadsTaskDecoratorTest {
+
+  private final PrimaryReadsTaskDecorator taskDecorator = new PrimaryReadsTaskDecorator();
+
+  @AfterEach
+  void tearDown() {
+    PrimaryReads.clear();
+  }
+
+  @Test
+  void decorate_WhenPrimaryReadsRequired_ShouldRequireThemOnTheAsyncThread() throws Exception {
+    AtomicBoolean insideTask = new AtomicBoolean();
+    AtomicBoolean afterTask = new AtomicBoolean(true);
+    PrimaryReads.require();
+    Runnable task = taskDecorator.decorate(() -> insideTask.set(PrimaryReads.isRequired()));
+    PrimaryReads.clear();
+
+    Thread.ofVirtual()
+        .start(
+            () -> {
+              task.run();
+              afterTask.set(PrimaryReads.isRequired());
+            })
+        .join();
+
+    assertTrue(insideTask.get());
+    assertFalse(afterTask.get());
+  }
+}
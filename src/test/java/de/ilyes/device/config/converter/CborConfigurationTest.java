@@ -0,0 +1,57 @@
+package de.ilyes.device.config.converter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ilyes.device.mapper.dto.DeviceCreationDto;
+import de.ilyes.device.mapper.dto.DeviceDto;
+import de.ilyes.device.mapper.dto.DeviceState;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class CborConfigurationTest {
+
+  private final ObjectMapper jsonObjectMapper = Jackson2ObjectMapperBuilder.json().build();
+  private final ObjectMapper cborObjectMapper =
+      CborConfiguration.cborObjectMapper(jsonObjectMapper);
+
+  @Test
+  void cborObjectMapper_ShouldWriteCreationTimeAsEpochMillisAndReadItBack() throws Exception {
+    ZonedDateTime creationTime = ZonedDateTime.parse("2025-10-26T18:06:06.752Z");
+    DeviceDto device =
+        DeviceDto.builder()
+            .id(1L)
+            .name("Phone")
+            .brand("Brand")
+            .deviceState(DeviceState.AVAILABLE)
+            .creationTime(creationTime)
+            .version(0L)
+            .build();
+
+    byte[] cbor = cborObjectMapper.writeValueAsBytes(device);
+    JsonNode tree = cborObjectMapper.readTree(cbor);
+    DeviceDto read = cborObjectMapper.readValue(cbor, DeviceDto.class);
+
+    assertTrue(tree.get("creationTime").isIntegralNumber());
+    assertEquals(creationTime.toInstant().toEpochMilli(), tree.get("creationTime").asLong());
+    assertEquals(creationTime.toInstant(), read.getCreationTime().toInstant());
+    assertTrue(cbor.length < jsonObjectMapper.writeValueAsBytes(device).length);
+  }
+
+  @Test
+  void cborObjectMapper_ShouldLeaveJsonMapperFormattingDatesAsStrings() throws Exception {
+    DeviceCreationDto creation =
+        DeviceCreationDto.builder()
+            .name("Phone")
+            .brand("Brand")
+            .deviceState(DeviceState.AVAILABLE)
+            .creationTime(ZonedDateTime.parse("2025-10-26T18:06:06.752Z"))
+            .build();
+
+    JsonNode tree = jsonObjectMapper.readTree(jsonObjectMapper.writeValueAsBytes(creation));
+
+    assertEquals("2025-10-26T18:06:06.752Z", tree.get("creationTime").asText());
+  }
+}
@@ -0,0 +1,49 @@
+package de.ilyes.device.config.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CountDownLatch;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+class BoundedWaitersDataSourceTest {
+
+  @Test
+  void getConnection_WhenWaiterLimitReached_ShouldFailFast() throws Exception {
+    DataSource target = mock(DataSource.class);
+    Connection connection = mock(Connection.class);
+    CountDownLatch waiting = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(target.getConnection())
+        .thenAnswer(
+            invocation -> {
+              waiting.countDown();
+              release.await();
+              return connection;
+            });
+    BoundedWaitersDataSource dataSource = new BoundedWaitersDataSource(target, 1);
+
+    Thread waiter =
+        Thread.ofVirtual()
+            .start(
+                () -> {
+                  try {
+                    dataSource.getConnection();
+                  } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                  }
+                });
+    waiting.await();
+
+    assertEquals(1, dataSource.getWaitingThreads());
+    assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+    release.countDown();
+    waiter.join();
+    assertEquals(0, dataSource.getWaitingThreads());
+    assertSame(connection, dataSource.getConnection());
+  }
+}
@@ -0,0 +1,61 @@
+package de.ilyes.device.config.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReplicaFallbackDataSourceTest {
+
+  private final DataSource primary = mock(DataSource.class);
+  private final ReadReplica replica = mock(ReadReplica.class);
+  private final Connection primaryConnection = mock(Connection.class);
+  private final Connection replicaConnection = mock(Connection.class);
+  private final ReplicaFallbackDataSource dataSource =
+      new ReplicaFallbackDataSource(primary, replica);
+
+  @BeforeEach
+  void setUp() throws Exception {
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    when(replica.getConnection()).thenReturn(replicaConnection);
+    when(replica.isUsable()).thenReturn(true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    PrimaryReads.clear();
+  }
+
+  @Test
+  void getConnection_WhenReplicaUsable_ShouldUseReplica() throws Exception {
+    assertSame(replicaConnection, dataSource.getConnection());
+  }
+
+  @Test
+  void getConnection_WhenReplicaLagsOrIsDown_ShouldUsePrimary() throws Exception {
+    when(replica.isUsable()).thenReturn(false);
+
+    assertSame(primaryConnection, dataSource.getConnection());
+    verify(replica, never()).getConnection();
+  }
+
+  @Test
+  void getConnection_WhenReplicaConnectionFails_ShouldFallBackToPrimary() throws Exception {
+    when(replica.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+
+    assertSame(primaryConnection, dataSource.getConnection());
+  }
+
+  @Test
+  void getConnection_WhenReadYourWritesRequired_ShouldUsePrimary() throws Exception {
+    PrimaryReads.require();
+
+    assertSame(primaryConnection, dataSource.getConnection());
+    verify(replica, never()).getConnection();
+  }
+}
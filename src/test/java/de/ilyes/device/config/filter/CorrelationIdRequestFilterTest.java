@@ -0,0 +1,83 @@
+package de.ilyes.device.config.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.ilyes.device.config.async.MdcTaskDecorator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class CorrelationIdRequestFilterTest {
+
+  private final CorrelationIdRequestFilter filter = new CorrelationIdRequestFilter();
+
+  @Test
+  void doFilter_OnVirtualThread_ShouldExposeCorrelationIdAndClearItAfterwards() throws Exception {
+    AtomicReference<String> insideChain = new AtomicReference<>();
+    AtomicReference<String> afterChain = new AtomicReference<>();
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(CorrelationIdRequestFilter.CORRELATION_ID_HEADER_KEY, "correlation-1");
+
+    Thread thread =
+        Thread.ofVirtual()
+            .start(
+                () -> {
+                  try {
+                    filter.doFilter(
+                        request,
+                        new MockHttpServletResponse(),
+                        (req, res) ->
+                            insideChain.set(
+                                MDC.get(CorrelationIdRequestFilter.CORRELATION_ID_MDC_KEY)));
+                  } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                  }
+                  afterChain.set(MDC.get(CorrelationIdRequestFilter.CORRELATION_ID_MDC_KEY));
+                });
+    thread.join();
+
+    assertEquals("correlation-1", insideChain.get());
+    assertNull(afterChain.get());
+  }
+
+  @Test
+  void doFilter_WhenChainFails_ShouldStillClearCorrelationId() {
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            filter.doFilter(
+                new MockHttpServletRequest(),
+                new MockHttpServletResponse(),
+                (req, res) -> {
+                  throw new IllegalStateException("boom");
+                }));
+
+    assertNull(MDC.get(CorrelationIdRequestFilter.CORRELATION_ID_MDC_KEY));
+  }
+
+  @Test
+  void mdcTaskDecorator_ShouldPropagateCorrelationIdToVirtualThreads() throws Exception {
+    MdcTaskDecorator taskDecorator = new MdcTaskDecorator();
+    AtomicReference<String> propagated = new AtomicReference<>();
+    MDC.put(CorrelationIdRequestFilter.CORRELATION_ID_MDC_KEY, "correlation-2");
+    Runnable task;
+    try {
+      task =
+          taskDecorator.decorate(
+              () -> propagated.set(MDC.get(CorrelationIdRequestFilter.CORRELATION_ID_MDC_KEY)));
+    } finally {
+      MDC.remove(CorrelationIdRequestFilter.CORRELATION_ID_MDC_KEY);
+    }
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      CompletableFuture.runAsync(task, executor).get();
+    }
+
+    assertEquals("correlation-2", propagated.get());
+  }
+}
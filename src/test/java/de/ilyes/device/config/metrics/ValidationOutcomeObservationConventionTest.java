@@ -0,0 +1,72 @@
+package de.ilyes.device.config.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import de.ilyes.device.exception.controlleradvice.ExceptionControllerAdvice;
+import de.ilyes.device.resource.DeviceResource;
+import de.ilyes.device.service.DeviceChangeBroadcaster;
+import de.ilyes.device.service.DeviceExportService;
+import de.ilyes.device.service.DeviceImportService;
+import de.ilyes.device.service.DeviceService;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+
+class ValidationOutcomeObservationConventionTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private DeviceService deviceService;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    ObservationRegistry observationRegistry = ObservationRegistry.create();
+    observationRegistry
+        .observationConfig()
+        .observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+    deviceService = mock(DeviceService.class);
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(
+                new DeviceResource(
+                    deviceService,
+                    mock(DeviceExportService.class),
+                    mock(DeviceImportService.class),
+                    mock(DeviceChangeBroadcaster.class)))
+            .setControllerAdvice(new ExceptionControllerAdvice(meterRegistry))
+            .addFilters(
+                new ServerHttpObservationFilter(
+                    observationRegistry, new ValidationOutcomeObservationConvention()))
+            .build();
+  }
+
+  @Test
+  void create_WithInvalidBody_ShouldTagRequestWithValidationError() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"name\":\"\",\"brand\":\"SmartphoneBrand\",\"deviceState\":\"AVAILABLE\"}"))
+        .andExpect(status().isBadRequest());
+
+    assertEquals(
+        1,
+        meterRegistry
+            .get("http.server.requests")
+            .tag("uri", "/api/v1/devices")
+            .tag(ValidationOutcomeObservationConvention.VALIDATION_KEY, "VALIDATION_ERROR")
+            .timer()
+            .count());
+    verifyNoInteractions(deviceService);
+  }
+}
@@ -0,0 +1,317 @@
+package de.ilyes.device.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Open-loop load test: requests are started at a fixed arrival rate whatever the response times
+ * are, and latency is measured from the intended start so queueing is not hidden. Excluded from the
+ * default build, run it with {@code mvn -Pload-test test}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+class DeviceLoadTest {
+
+  private static final int SEED_CHUNK_SIZE = 1000;
+  private static final int BRAND_COUNT = 50;
+  private static final DateTimeFormatter CREATION_TIME_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSX");
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer postgreSQLContainer =
+      new PostgreSQLContainer(DockerImageName.parse("postgres:18.0-alpine3.22"));
+
+  @LocalServerPort private int port;
+  @Autowired private ObjectMapper objectMapper;
+
+  private final HttpClient httpClient =
+      HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .executor(Executors.newVirtualThreadPerTaskExecutor())
+          .build();
+
+  private final List<Long> stableIds = new ArrayList<>();
+  private final Queue<Long> deletableIds = new ConcurrentLinkedQueue<>();
+
+  enum Operation {
+    CREATE,
+    GET,
+    SEARCH,
+    PATCH,
+    DELETE
+  }
+
+  @Test
+  void deviceEndpoints_AtFixedArrivalRate_ShouldReportLatencyPerEndpoint() throws Exception {
+    int seed = Integer.getInteger("load.seed", 10_000);
+    int rate = Integer.getInteger("load.rate", 100);
+    Duration duration = DurationStyle.detectAndParse(System.getProperty("load.duration", "30s"));
+    Map<Operation, Integer> mix =
+        parseMix(System.getProperty("load.mix", "create:10,get:50,search:25,patch:10,delete:5"));
+    double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+    Path reportFile = Path.of(System.getProperty("load.report", "target/load-report.json"));
+
+    seedDevices(seed);
+
+    Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    for (Operation operation : Operation.values()) {
+      stats.put(operation, new OperationStats());
+    }
+    Random random = new Random(42);
+    int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+    long requests = duration.toSeconds() * rate;
+
+    long start = System.nanoTime();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long i = 0; i < requests; i++) {
+        long intendedStart = start + i * intervalNanos;
+        long delay = intendedStart - System.nanoTime();
+        if (delay > 0) {
+          LockSupport.parkNanos(delay);
+        }
+        Operation operation = pick(mix, totalWeight, random.nextInt(totalWeight));
+        executor.submit(() -> execute(operation, intendedStart, stats.get(operation)));
+      }
+    }
+    double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+    Map<String, Object> report = report(seed, rate, duration, mix, stats, elapsedSeconds);
+    Files.createDirectories(reportFile.toAbsolutePath().getParent());
+    objectMapper
+        .writer()
+        .with(SerializationFeature.INDENT_OUTPUT)
+        .writeValue(reportFile.toFile(), report);
+
+    for (Operation operation : mix.keySet()) {
+      assertThat(stats.get(operation).errorRate())
+          .as("error rate of %s", operation)
+          .isLessThanOrEqualTo(maxErrorRate);
+    }
+  }
+
+  private void execute(Operation operation, long intendedStart, OperationStats stats) {
+    try {
+      HttpRequest request = request(operation);
+      if (request == null) {
+        stats.skipped.incrementAndGet();
+        return;
+      }
+      HttpResponse<String> response =
+          httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+      stats.latency.recordValue(System.nanoTime() - intendedStart);
+      if (response.statusCode() >= 400) {
+        stats.errors.incrementAndGet();
+      } else if (operation == Operation.CREATE) {
+        deletableIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+      }
+    } catch (Exception ex) {
+      stats.latency.recordValue(System.nanoTime() - intendedStart);
+      stats.errors.incrementAndGet();
+    }
+  }
+
+  private HttpRequest request(Operation operation) throws Exception {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return switch (operation) {
+      case CREATE ->
+          jsonRequest("", "POST", deviceJson(random.nextInt(BRAND_COUNT), "Load Created"));
+      case GET -> HttpRequest.newBuilder(uri("/" + randomStableId())).GET().build();
+      case SEARCH ->
+          HttpRequest.newBuilder(
+                  uri("?match=exact&size=20&brand=Load%20Brand%20" + random.nextInt(BRAND_COUNT)))
+              .GET()
+              .build();
+      case PATCH ->
+          jsonRequest(
+              "/" + randomStableId(),
+              "PATCH",
+              "{\"deviceState\":\"" + (random.nextBoolean() ? "AVAILABLE" : "INACTIVE") + "\"}");
+      case DELETE -> {
+        Long id = deletableIds.poll();
+        yield id != null ? HttpRequest.newBuilder(uri("/" + id)).DELETE().build() : null;
+      }
+    };
+  }
+
+  private void seedDevices(int count) throws Exception {
+    for (int offset = 0; offset < count; offset += SEED_CHUNK_SIZE) {
+      StringBuilder batch = new StringBuilder("[");
+      for (int i = offset; i < Math.min(count, offset + SEED_CHUNK_SIZE); i++) {
+        batch.append(i > offset ? "," : "").append(deviceJson(i % BRAND_COUNT, "Load Seed " + i));
+      }
+      HttpResponse<String> response =
+          httpClient.send(
+              jsonRequest("/batch", "POST", batch.append("]").toString()),
+              HttpResponse.BodyHandlers.ofString());
+      assertThat(response.statusCode()).isEqualTo(200);
+      for (JsonNode item : objectMapper.readTree(response.body()).get("items")) {
+        long id = item.get("device").get("id").asLong();
+        // every fifth seeded device may be deleted, the others stay for get and patch
+        if (id % 5 == 0) {
+          deletableIds.add(id);
+        } else {
+          stableIds.add(id);
+        }
+      }
+    }
+  }
+
+  private String deviceJson(int brand, String name) {
+    return "{\"name\":\""
+        + name
+        + "\",\"brand\":\"Load Brand "
+        + brand
+        + "\",\"deviceState\":\"AVAILABLE\",\"creationTime\":\""
+        + ZonedDateTime.now().minusDays(1).format(CREATION_TIME_FORMATTER)
+        + "\"}";
+  }
+
+  private HttpRequest jsonRequest(String path, String method, String body) {
+    return HttpRequest.newBuilder(uri(path))
+        .header("Content-Type", "application/json")
+        .method(method, HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + "/api/v1/devices" + path);
+  }
+
+  private long randomStableId() {
+    return stableIds.get(ThreadLocalRandom.current().nextInt(stableIds.size()));
+  }
+
+  private static Operation pick(Map<Operation, Integer> mix, int totalWeight, int draw) {
+    int cumulative = 0;
+    for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+      cumulative += entry.getValue();
+      if (draw < cumulative) {
+        return entry.getKey();
+      }
+    }
+    throw new IllegalStateException("draw " + draw + " outside total weight " + totalWeight);
+  }
+
+  private static Map<Operation, Integer> parseMix(String mix) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String part : mix.split(",")) {
+      String[] weight = part.trim().split(":");
+      weights.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1]));
+    }
+    return weights;
+  }
+
+  private static Map<String, Object> report(
+      int seed,
+      int rate,
+      Duration duration,
+      Map<Operation, Integer> mix,
+      Map<Operation, OperationStats> stats,
+      double elapsedSeconds) {
+    Map<String, Object> config = new LinkedHashMap<>();
+    config.put("seedDevices", seed);
+    config.put("arrivalRatePerSecond", rate);
+    config.put("durationSeconds", duration.toSeconds());
+    Map<String, Integer> weights = new LinkedHashMap<>();
+    mix.forEach((operation, weight) -> weights.put(operation.name().toLowerCase(), weight));
+    config.put("mix", weights);
+
+    Map<String, Object> endpoints = new LinkedHashMap<>();
+    Histogram total = new Histogram(3);
+    long totalErrors = 0;
+    for (Operation operation : mix.keySet()) {
+      OperationStats operationStats = stats.get(operation);
+      endpoints.put(operation.name().toLowerCase(), operationStats.summary(elapsedSeconds));
+      total.add(operationStats.latency);
+      totalErrors += operationStats.errors.get();
+    }
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("config", config);
+    report.put("endpoints", endpoints);
+    report.put("total", summary(total, totalErrors, 0, elapsedSeconds));
+    return report;
+  }
+
+  private static Map<String, Object> summary(
+      Histogram latency, long errors, long skipped, double elapsedSeconds) {
+    long requests = latency.getTotalCount();
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("requests", requests);
+    summary.put("errors", errors);
+    summary.put("skipped", skipped);
+    summary.put("errorRate", requests > 0 ? round((double) errors / requests) : 0.0);
+    summary.put("throughputPerSecond", round(requests / elapsedSeconds));
+    Map<String, Double> latencyMs = new LinkedHashMap<>();
+    latencyMs.put("p50", millis(latency.getValueAtPercentile(50)));
+    latencyMs.put("p95", millis(latency.getValueAtPercentile(95)));
+    latencyMs.put("p99", millis(latency.getValueAtPercentile(99)));
+    latencyMs.put("max", millis(latency.getMaxValue()));
+    summary.put("latencyMs", latencyMs);
+    return summary;
+  }
+
+  private static double millis(long nanos) {
+    return round(nanos / 1_000_000.0);
+  }
+
+  private static double round(double value) {
+    return Math.round(value * 1000) / 1000.0;
+  }
+
+  private static final class OperationStats {
+    private final ConcurrentHistogram latency = new ConcurrentHistogram(3);
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    double errorRate() {
+      long requests = latency.getTotalCount();
+      return requests > 0 ? (double) errors.get() / requests : 0.0;
+    }
+
+    Map<String, Object> summary(double elapsedSeconds) {
+      return DeviceLoadTest.summary(latency, errors.get(), skipped.get(), elapsedSeconds);
+    }
+  }
+}
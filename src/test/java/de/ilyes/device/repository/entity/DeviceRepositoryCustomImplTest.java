@@ -0,0 +1,69 @@
+package de.ilyes.device.repository.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import de.ilyes.device.config.properties.DeviceExportProperties;
+import de.ilyes.device.mapper.dto.DeviceState;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+class DeviceRepositoryCustomImplTest {
+
+  @Mock private NamedParameterJdbcTemplate jdbcTemplate;
+  @Mock private JdbcTemplate plainJdbcTemplate;
+  @Mock private DataSource dataSource;
+
+  private DeviceRepositoryCustomImpl repository;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    when(jdbcTemplate.getJdbcTemplate()).thenReturn(plainJdbcTemplate);
+    when(plainJdbcTemplate.getDataSource()).thenReturn(dataSource);
+    repository = new DeviceRepositoryCustomImpl(jdbcTemplate, new DeviceExportProperties());
+  }
+
+  @Test
+  void insertAll_ShouldHandOutTheRestOfAReservedBlockToTheNextCall() {
+    when(jdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class)))
+        .thenReturn(List.of(50L), List.of(100L));
+    List<DeviceEntity> first = devices(30);
+    List<DeviceEntity> second = devices(70);
+
+    repository.insertAll(first);
+    repository.insertAll(second);
+
+    assertEquals(LongStream.rangeClosed(1, 30).boxed().toList(), ids(first));
+    assertEquals(LongStream.rangeClosed(31, 100).boxed().toList(), ids(second));
+    verify(jdbcTemplate, times(2))
+        .queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class));
+  }
+
+  private static List<DeviceEntity> devices(int count) {
+    return LongStream.range(0, count)
+        .mapToObj(
+            i ->
+                DeviceEntity.builder()
+                    .name("Device " + i)
+                    .brand("Brand")
+                    .deviceState(DeviceState.AVAILABLE)
+                    .creationTime(ZonedDateTime.now())
+                    .build())
+        .toList();
+  }
+
+  private static List<Long> ids(List<DeviceEntity> devices) {
+    return devices.stream().map(DeviceEntity::getId).toList();
+  }
+}
@@ -0,0 +1,20 @@
+package de.ilyes.device.resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class DeviceContentEncodingsTest {
+
+  @Test
+  void acceptsGzip_ShouldHonourQualityValues() {
+    assertTrue(DeviceContentEncodings.acceptsGzip("gzip, deflate, br"));
+    assertTrue(DeviceContentEncodings.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+    assertTrue(DeviceContentEncodings.acceptsGzip("*"));
+    assertFalse(DeviceContentEncodings.acceptsGzip("gzip;q=0"));
+    assertFalse(DeviceContentEncodings.acceptsGzip("gzip;q=0.000, *"));
+    assertFalse(DeviceContentEncodings.acceptsGzip("*;q=0"));
+    assertFalse(DeviceContentEncodings.acceptsGzip("identity"));
+    assertFalse(DeviceContentEncodings.acceptsGzip(null));
+  }
+}
@@ -0,0 +1,124 @@
+package de.ilyes.device.resource;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import de.ilyes.device.config.filter.ReadYourWritesRequestFilter;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Uses a second, independently migrated database as the "replica" so that rows written only there
+ * show which side served a request.
+ */
+@SpringBootTest(properties = "spring.cache.type=none")
+@AutoConfigureMockMvc
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class DeviceReadReplicaRoutingTest {
+
+  @Container @ServiceConnection
+  static PostgreSQLContainer primary =
+      new PostgreSQLContainer(DockerImageName.parse("postgres:18.0-alpine3.22"));
+
+  @Container
+  static PostgreSQLContainer replica =
+      new PostgreSQLContainer(DockerImageName.parse("postgres:18.0-alpine3.22"));
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @DynamicPropertySource
+  static void replicaProperties(DynamicPropertyRegistry registry) {
+    registry.add("device.datasource.replica.url", replica::getJdbcUrl);
+    registry.add("device.datasource.replica.username", replica::getUsername);
+    registry.add("device.datasource.replica.password", replica::getPassword);
+  }
+
+  @BeforeAll
+  static void migrateReplica() {
+    Flyway.configure()
+        .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+        .load()
+        .migrate();
+    replicaJdbcTemplate().execute("ALTER SEQUENCE device_id_seq RESTART WITH 1000000");
+  }
+
+  @Test
+  @Order(1)
+  void getDevice_ReadOnlyRequest_ShouldBeServedByReplica() throws Exception {
+    Long id = insertDevice(replicaJdbcTemplate(), "Replica Only");
+
+    mockMvc
+        .perform(get("/api/v1/devices/{id}", id))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value("Replica Only"));
+    mockMvc
+        .perform(get("/api/v1/devices").param("brand", "Replica Brand"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].name").value("Replica Only"));
+  }
+
+  @Test
+  @Order(2)
+  void getDevice_WithReadYourWritesHeader_ShouldBeServedByPrimary() throws Exception {
+    Long replicaId = insertDevice(replicaJdbcTemplate(), "Replica Only");
+    Long primaryId = insertDevice(jdbcTemplate, "Primary Only");
+
+    mockMvc
+        .perform(
+            get("/api/v1/devices/{id}", replicaId)
+                .header(ReadYourWritesRequestFilter.READ_YOUR_WRITES_HEADER_KEY, "true"))
+        .andExpect(status().isNotFound());
+    mockMvc
+        .perform(
+            get("/api/v1/devices/{id}", primaryId)
+                .header(ReadYourWritesRequestFilter.READ_YOUR_WRITES_HEADER_KEY, "true"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value("Primary Only"));
+  }
+
+  @Test
+  @Order(3)
+  void getDevice_WhenReplicaIsDown_ShouldFallBackToPrimary() throws Exception {
+    Long id = insertDevice(jdbcTemplate, "Primary Only");
+    replica.stop();
+
+    mockMvc
+        .perform(get("/api/v1/devices/{id}", id))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value("Primary Only"));
+  }
+
+  private static JdbcTemplate replicaJdbcTemplate() {
+    return new JdbcTemplate(
+        new DriverManagerDataSource(
+            replica.getJdbcUrl(), replica.getUsername(), replica.getPassword()));
+  }
+
+  private static Long insertDevice(JdbcTemplate template, String name) {
+    return template.queryForObject(
+        "INSERT INTO devices (id, name, brand, device_state, creation_time) "
+            + "VALUES (nextval('device_id_seq'), ?, 'Replica Brand', 'AVAILABLE', now()) "
+            + "RETURNING id",
+        Long.class,
+        name);
+  }
+}
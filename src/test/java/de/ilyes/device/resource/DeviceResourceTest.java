@@ -5,18 +5,30 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ilyes.device.config.converter.CborConfiguration;
 import de.ilyes.device.exception.DeviceCannotBeDeletedWhileStatusInUseException;
 import de.ilyes.device.exception.DeviceCannotBeUpdatedWhileStatusInUseException;
 import de.ilyes.device.exception.DeviceNotFoundException;
+import de.ilyes.device.exception.DeviceVersionMismatchException;
+import de.ilyes.device.exception.InvalidDeviceSearchException;
 import de.ilyes.device.exception.controlleradvice.ExceptionControllerAdvice;
 import de.ilyes.device.mapper.dto.*;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -26,6 +38,7 @@ import org.testcontainers.utility.DockerImageName;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 @Testcontainers
 class DeviceResourceTest {
 
@@ -35,6 +48,7 @@ class DeviceResourceTest {
 
   @Autowired private MockMvc mockMvc;
   @Autowired private ObjectMapper objectMapper;
+  @Autowired private JdbcTemplate jdbcTemplate;
 
   @Test
   void createDevice_WithValidInput_ShouldReturnCreatedDevice() throws Exception {
@@ -66,6 +80,39 @@ class DeviceResourceTest {
         .isEqualTo(dto.getCreationTime().withNano(0));
   }
 
+  @Test
+  void createDevice_WithCborBody_ShouldAnswerInCborWithEpochCreationTime() throws Exception {
+    ObjectMapper cborObjectMapper = CborConfiguration.cborObjectMapper(objectMapper);
+    DeviceCreationDto dto = new DeviceCreationDto();
+    dto.setName("Cbor Device");
+    dto.setBrand("Cbor Brand");
+    dto.setDeviceState(DeviceState.AVAILABLE);
+    dto.setCreationTime(ZonedDateTime.now(ZoneOffset.UTC).withNano(0));
+
+    MvcResult created =
+        mockMvc
+            .perform(
+                post("/api/v1/devices")
+                    .contentType(MediaType.APPLICATION_CBOR)
+                    .accept(MediaType.APPLICATION_CBOR)
+                    .content(cborObjectMapper.writeValueAsBytes(dto)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn();
+    byte[] body = created.getResponse().getContentAsByteArray();
+    DeviceDto responseBody = cborObjectMapper.readValue(body, DeviceDto.class);
+
+    assertThat(cborObjectMapper.readTree(body).get("creationTime").isIntegralNumber()).isTrue();
+    assertThat(responseBody.getName()).isEqualTo("Cbor Device");
+    assertThat(responseBody.getCreationTime().toInstant())
+        .isEqualTo(dto.getCreationTime().toInstant());
+    mockMvc
+        .perform(get("/api/v1/devices/{id}", responseBody.getId()))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.name").value("Cbor Device"));
+  }
+
   @Test
   void createDevice_WithInvalidInput_ShouldThrowValidationException() throws Exception {
 
@@ -104,6 +151,256 @@ class DeviceResourceTest {
             jsonPath("$.errorCode").value(ExceptionControllerAdvice.VALIDATION_DEVICE_ERROR_CODE));
   }
 
+  @Test
+  void createDeviceBatch_WithValidAndInvalidItems_ShouldReturnPerItemResults() throws Exception {
+
+    DeviceCreationDto valid = new DeviceCreationDto();
+    valid.setName("Batch Device");
+    valid.setBrand("Batch Brand");
+    valid.setDeviceState(DeviceState.AVAILABLE);
+    valid.setCreationTime(ZonedDateTime.now());
+
+    DeviceCreationDto invalid = new DeviceCreationDto();
+    invalid.setName("");
+    invalid.setBrand("Batch Brand");
+    invalid.setDeviceState(DeviceState.AVAILABLE);
+    invalid.setCreationTime(ZonedDateTime.now());
+
+    mockMvc
+        .perform(
+            post("/api/v1/devices/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(valid, invalid, valid))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.created").value(2))
+        .andExpect(jsonPath("$.rejected").value(1))
+        .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+        .andExpect(jsonPath("$.items[0].device.id").isNumber())
+        .andExpect(jsonPath("$.items[1].status").value("REJECTED"))
+        .andExpect(
+            jsonPath("$.items[1].errorCode")
+                .value(ExceptionControllerAdvice.VALIDATION_DEVICE_ERROR_CODE))
+        .andExpect(jsonPath("$.items[2].status").value("CREATED"));
+  }
+
+  @Test
+  void transitionStates_WithIdsAndFilter_ShouldReportPerDeviceOutcomes() throws Exception {
+
+    DeviceCreationDto device = new DeviceCreationDto();
+    device.setName("Shipment Device");
+    device.setBrand("Shipment Brand");
+    device.setDeviceState(DeviceState.INACTIVE);
+    device.setCreationTime(ZonedDateTime.now());
+
+    MvcResult batchResult =
+        mockMvc
+            .perform(
+                post("/api/v1/devices/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(List.of(device, device))))
+            .andExpect(status().isOk())
+            .andReturn();
+    List<Long> ids =
+        objectMapper
+            .readValue(
+                batchResult.getResponse().getContentAsString(), DeviceBatchCreationResultDto.class)
+            .getItems()
+            .stream()
+            .map(item -> item.getDevice().getId())
+            .toList();
+    Long missingId = Long.MAX_VALUE;
+
+    mockMvc
+        .perform(
+            patch("/api/v1/devices/batch/state")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        DeviceStateTransitionDto.builder()
+                            .ids(List.of(ids.get(0), ids.get(1), missingId))
+                            .deviceState(DeviceState.IN_USE)
+                            .build())))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.updated").value(2))
+        .andExpect(jsonPath("$.notFound").value(1))
+        .andExpect(jsonPath("$.items[0].device.deviceState").value("IN_USE"))
+        .andExpect(jsonPath("$.items[2].status").value("NOT_FOUND"))
+        .andExpect(
+            jsonPath("$.items[2].errorCode")
+                .value(DeviceNotFoundException.DEVICE_NOT_FOUND_ERROR_CODE));
+
+    mockMvc
+        .perform(
+            patch("/api/v1/devices/batch/state")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        DeviceStateTransitionDto.builder()
+                            .brand("Shipment Brand")
+                            .deviceState(DeviceState.AVAILABLE)
+                            .build())))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.updated").value(2))
+        .andExpect(jsonPath("$.notFound").value(0));
+    mockMvc
+        .perform(get("/api/v1/devices/{id}", ids.get(1)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.deviceState").value("AVAILABLE"))
+        .andExpect(jsonPath("$.version").value(2));
+  }
+
+  @Test
+  void transitionStates_WithNullId_ShouldReturnValidationError() throws Exception {
+
+    mockMvc
+        .perform(
+            patch("/api/v1/devices/batch/state")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        DeviceStateTransitionDto.builder()
+                            .ids(Arrays.asList(1L, null))
+                            .deviceState(DeviceState.AVAILABLE)
+                            .build())))
+        .andExpect(status().isBadRequest())
+        .andExpect(
+            jsonPath("$.errorCode").value(ExceptionControllerAdvice.VALIDATION_DEVICE_ERROR_CODE));
+  }
+
+  @Test
+  void deleteDevices_WithNullId_ShouldReturnValidationError() throws Exception {
+
+    mockMvc
+        .perform(
+            post("/api/v1/devices/batch/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        DeviceBulkDeletionDto.builder().ids(Arrays.asList(1L, null)).build())))
+        .andExpect(status().isBadRequest())
+        .andExpect(
+            jsonPath("$.errorCode").value(ExceptionControllerAdvice.VALIDATION_DEVICE_ERROR_CODE));
+  }
+
+  @Test
+  void deleteDevices_WithIdsAndFilter_ShouldKeepInUseDevices() throws Exception {
+
+    DeviceCreationDto available = new DeviceCreationDto();
+    available.setName("Retired Device");
+    available.setBrand("Retired Brand");
+    available.setDeviceState(DeviceState.AVAILABLE);
+    available.setCreationTime(ZonedDateTime.now().minusMonths(2));
+
+    DeviceCreationDto inUse = new DeviceCreationDto();
+    inUse.setName("Retired Device");
+    inUse.setBrand("Retired Brand");
+    inUse.setDeviceState(DeviceState.IN_USE);
+    inUse.setCreationTime(ZonedDateTime.now().minusMonths(2));
+
+    MvcResult batchResult =
+        mockMvc
+            .perform(
+                post("/api/v1/devices/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(List.of(available, inUse, available))))
+            .andExpect(status().isOk())
+            .andReturn();
+    List<Long> ids =
+        objectMapper
+            .readValue(
+                batchResult.getResponse().getContentAsString(), DeviceBatchCreationResultDto.class)
+            .getItems()
+            .stream()
+            .map(item -> item.getDevice().getId())
+            .toList();
+
+    mockMvc
+        .perform(
+            post("/api/v1/devices/batch/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        DeviceBulkDeletionDto.builder()
+                            .ids(List.of(ids.get(0), ids.get(1), Long.MAX_VALUE))
+                            .build())))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.deleted").value(1))
+        .andExpect(jsonPath("$.rejectedIds[0]").value(ids.get(1)))
+        .andExpect(jsonPath("$.notFoundIds[0]").value(Long.MAX_VALUE));
+
+    mockMvc
+        .perform(
+            post("/api/v1/devices/batch/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        DeviceBulkDeletionDto.builder()
+                            .brand("Retired Brand")
+                            .createdTo(ZonedDateTime.now().minusMonths(1))
+                            .build())))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.deleted").value(1))
+        .andExpect(jsonPath("$.rejectedIds[0]").value(ids.get(1)));
+    mockMvc.perform(get("/api/v1/devices/{id}", ids.get(2))).andExpect(status().isNotFound());
+    mockMvc.perform(get("/api/v1/devices/{id}", ids.get(1))).andExpect(status().isOk());
+  }
+
+  @Test
+  void importDevices_WithNdjsonBody_ShouldStoreValidLinesAndStreamEvents() throws Exception {
+
+    StringBuilder ndjson = new StringBuilder();
+    for (String name : List.of("Import One", "", "Import Two")) {
+      DeviceCreationDto dto = new DeviceCreationDto();
+      dto.setName(name);
+      dto.setBrand("Import Brand");
+      dto.setDeviceState(DeviceState.AVAILABLE);
+      dto.setCreationTime(ZonedDateTime.now());
+      ndjson.append(objectMapper.writeValueAsString(dto)).append('\n');
+    }
+
+    MvcResult importResult =
+        mockMvc
+            .perform(
+                post("/api/v1/devices/import")
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .content(ndjson.toString()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    List<DeviceImportEventDto> events =
+        mockMvc
+            .perform(asyncDispatch(importResult))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString()
+            .lines()
+            .map(
+                line -> {
+                  try {
+                    return objectMapper.readValue(line, DeviceImportEventDto.class);
+                  } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                  }
+                })
+            .toList();
+    assertThat(events).hasSize(2);
+    assertThat(events.get(0).getType()).isEqualTo(DeviceImportEventType.REJECTED);
+    assertThat(events.get(0).getLine()).isEqualTo(2L);
+    assertThat(events.get(1).getType()).isEqualTo(DeviceImportEventType.COMPLETED);
+    assertThat(events.get(1).getImported()).isEqualTo(2L);
+
+    mockMvc
+        .perform(
+            get("/api/v1/devices")
+                .queryParam("brand", "Import Brand")
+                .queryParam("match", "exact")
+                .queryParam("sort", "name"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.content[0].name").value("Import One"))
+        .andExpect(jsonPath("$.content[1].name").value("Import Two"));
+  }
+
   @Test
   void getDeviceById_WhenDeviceExists_ShouldReturnDevice() throws Exception {
 
@@ -143,6 +440,78 @@ class DeviceResourceTest {
     assertThat(responseBody.getCreationTime().withNano(0)).isEqualTo(dto.getCreationTime());
   }
 
+  @Test
+  void prometheusEndpoint_AfterFailedLookup_ShouldExposeOutcomeTaggedHistograms() throws Exception {
+    mockMvc.perform(get("/api/v1/devices/{id}", 987654321L)).andExpect(status().isNotFound());
+
+    String scrape =
+        mockMvc
+            .perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    assertThat(scrape)
+        .contains("device_resource_invocations_seconds_bucket")
+        .contains("outcome=\"NOT_FOUND\"")
+        .contains("device_errors_total")
+        .contains("spring_data_repository_invocations_seconds_bucket")
+        .contains("hikaricp_connections_acquire_seconds_bucket");
+  }
+
+  @Test
+  void getDevicesByIds_ShouldKeepRequestOrderAndReportMissingIds() throws Exception {
+
+    DeviceCreationDto device = new DeviceCreationDto();
+    device.setName("Lookup Device");
+    device.setBrand("Lookup Brand");
+    device.setDeviceState(DeviceState.AVAILABLE);
+    device.setCreationTime(ZonedDateTime.now());
+
+    MvcResult batchResult =
+        mockMvc
+            .perform(
+                post("/api/v1/devices/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(List.of(device, device))))
+            .andExpect(status().isOk())
+            .andReturn();
+    List<Long> ids =
+        objectMapper
+            .readValue(
+                batchResult.getResponse().getContentAsString(), DeviceBatchCreationResultDto.class)
+            .getItems()
+            .stream()
+            .map(item -> item.getDevice().getId())
+            .toList();
+
+    mockMvc
+        .perform(
+            get("/api/v1/devices")
+                .queryParam("ids", ids.get(1) + "," + Long.MAX_VALUE + "," + ids.get(0)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.devices[0].id").value(ids.get(1)))
+        .andExpect(jsonPath("$.devices[0].name").value("Lookup Device"))
+        .andExpect(jsonPath("$.devices[1].id").value(ids.get(0)))
+        .andExpect(jsonPath("$.missingIds[0]").value(Long.MAX_VALUE));
+    mockMvc
+        .perform(
+            post("/api/v1/devices/lookup")
+                .queryParam("fields", "deviceState")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(ids.get(0)))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.devices[0].deviceState").value("AVAILABLE"))
+        .andExpect(jsonPath("$.devices[0].name").doesNotExist())
+        .andExpect(jsonPath("$.missingIds").isEmpty());
+    mockMvc
+        .perform(get("/api/v1/devices").queryParam("ids", "1,abc"))
+        .andExpect(status().isBadRequest())
+        .andExpect(
+            jsonPath("$.errorCode")
+                .value(InvalidDeviceSearchException.INVALID_DEVICE_SEARCH_ERROR_CODE));
+  }
+
   @Test
   void getDeviceById_WhenDeviceDoesNotExist_ShouldThrowNotFoundException() throws Exception {
 
@@ -195,6 +564,445 @@ class DeviceResourceTest {
         .andExpect(jsonPath("$.totalElements").value(1));
   }
 
+  @Test
+  void findDevicesByBrandOrName_WithCreationTimeRange_ShouldReadMatchingPartitions()
+      throws Exception {
+    ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+    DeviceCreationDto older = new DeviceCreationDto();
+    older.setName("Older Device");
+    older.setBrand("Range Brand");
+    older.setDeviceState(DeviceState.AVAILABLE);
+    older.setCreationTime(now.minusMonths(3));
+    DeviceCreationDto recent = new DeviceCreationDto();
+    recent.setName("Recent Device");
+    recent.setBrand("Range Brand");
+    recent.setDeviceState(DeviceState.AVAILABLE);
+    recent.setCreationTime(now);
+    for (DeviceCreationDto dto : List.of(older, recent)) {
+      mockMvc
+          .perform(
+              post("/api/v1/devices")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(objectMapper.writeValueAsString(dto)))
+          .andExpect(status().isOk());
+    }
+    String boundary = now.minusMonths(1).toLocalDate().toString();
+
+    mockMvc
+        .perform(
+            get("/api/v1/devices")
+                .queryParam("brand", "Range Brand")
+                .queryParam("createdFrom", boundary))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].name").value("Recent Device"))
+        .andExpect(jsonPath("$.totalElements").value(1));
+    mockMvc
+        .perform(
+            get("/api/v1/devices")
+                .queryParam("brand", "Range Brand")
+                .queryParam("createdTo", boundary))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].name").value("Older Device"))
+        .andExpect(jsonPath("$.totalElements").value(1));
+    mockMvc
+        .perform(
+            get("/api/v1/devices")
+                .queryParam("createdFrom", boundary)
+                .queryParam("createdTo", boundary))
+        .andExpect(status().isBadRequest())
+        .andExpect(
+            jsonPath("$.errorCode")
+                .value(InvalidDeviceSearchException.INVALID_DEVICE_SEARCH_ERROR_CODE));
+
+    List<String> partitions =
+        jdbcTemplate.queryForList(
+            "SELECT tableoid::regclass::text FROM devices WHERE brand = 'Range Brand'",
+            String.class);
+    assertThat(partitions).hasSize(2).allMatch(partition -> partition.startsWith("devices_p"));
+  }
+
+  @Test
+  void findDevicesByBrandOrName_WithFieldsAndCompactEnvelope_ShouldReturnLeanPage()
+      throws Exception {
+    DeviceCreationDto dto = new DeviceCreationDto();
+    dto.setName("Sparse Device");
+    dto.setBrand("Sparse Brand");
+    dto.setDeviceState(DeviceState.INACTIVE);
+    dto.setCreationTime(ZonedDateTime.now());
+    mockMvc
+        .perform(
+            post("/api/v1/devices")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(
+            get("/api/v1/devices")
+                .queryParam("brand", "Sparse Brand")
+                .queryParam("fields", "deviceState")
+                .queryParam("envelope", "compact"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].id").isNumber())
+        .andExpect(jsonPath("$.content[0].deviceState").value("INACTIVE"))
+        .andExpect(jsonPath("$.content[0].name").doesNotExist())
+        .andExpect(jsonPath("$.content[0].creationTime").doesNotExist())
+        .andExpect(jsonPath("$.total").value(1))
+        .andExpect(jsonPath("$.hasNext").value(false))
+        .andExpect(jsonPath("$.pageable").doesNotExist());
+    mockMvc
+        .perform(
+            get("/api/v1/devices")
+                .queryParam("brand", "Sparse Brand")
+                .queryParam("envelope", "compact")
+                .queryParam("count", "none"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].name").value("Sparse Device"))
+        .andExpect(jsonPath("$.total").doesNotExist());
+    mockMvc
+        .perform(get("/api/v1/devices").queryParam("fields", "serialNumber"))
+        .andExpect(status().isBadRequest())
+        .andExpect(
+            jsonPath("$.errorCode")
+                .value(InvalidDeviceSearchException.INVALID_DEVICE_SEARCH_ERROR_CODE));
+  }
+
+  @Test
+  void findDevicesByBrandOrName_WithMatchModes_ShouldMatchLiterallyAndRankFuzzyResults()
+      throws Exception {
+
+    for (String name : List.of("Match Phone 100%", "Match Phone 1000", "Match Tablet")) {
+      DeviceCreationDto dto = new DeviceCreationDto();
+      dto.setName(name);
+      dto.setBrand("Match Brand");
+      dto.setDeviceState(DeviceState.AVAILABLE);
+      dto.setCreationTime(ZonedDateTime.now());
+      mockMvc
+          .perform(
+              post("/api/v1/devices")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(objectMapper.writeValueAsString(dto)))
+          .andExpect(status().isOk());
+    }
+
+    mockMvc
+        .perform(
+            get("/api/v1/devices")
+                .queryParam("brand", "match brand")
+                .queryParam("name", "PHONE 100%")
+                .queryParam("match", "contains"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalElements").value(1))
+        .andExpect(jsonPath("$.content[0].name").value("Match Phone 100%"));
+
+    mockMvc
+        .perform(
+            get("/api/v1/devices")
+                .queryParam("brand", "match brand")
+                .queryParam("name", "match p")
+                .queryParam("match", "prefix"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalElements").value(2));
+
+    mockMvc
+        .perform(
+            get("/api/v1/devices")
+                .queryParam("brand", "Match Brand")
+                .queryParam("name", "Match Tablett")
+                .queryParam("match", "fuzzy"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].name").value("Match Tablet"));
+
+    mockMvc
+        .perform(
+            get("/api/v1/devices")
+                .queryParam("brand", "Match Brand")
+                .queryParam("count", "none")
+                .queryParam("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.last").value(false))
+        .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+    for (String count : List.of("estimate", "cached")) {
+      mockMvc
+          .perform(
+              get("/api/v1/devices")
+                  .queryParam("brand", "match brand")
+                  .queryParam("name", "match p")
+                  .queryParam("match", "prefix")
+                  .queryParam("count", count)
+                  .queryParam("size", "1"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.content.length()").value(1))
+          .andExpect(jsonPath("$.totalElements").isNumber());
+    }
+
+    mockMvc
+        .perform(get("/api/v1/devices").queryParam("brand", "x").queryParam("count", "maybe"))
+        .andExpect(status().isBadRequest());
+
+    mockMvc
+        .perform(get("/api/v1/devices").queryParam("name", "x").queryParam("match", "regex"))
+        .andExpect(status().isBadRequest())
+        .andExpect(
+            jsonPath("$.errorCode")
+                .value(InvalidDeviceSearchException.INVALID_DEVICE_SEARCH_ERROR_CODE));
+  }
+
+  @Test
+  void getStats_AfterCreatingDevice_ShouldCountItAndListItByState() throws Exception {
+    DeviceStatsDto before =
+        objectMapper.readValue(
+            mockMvc
+                .perform(get("/api/v1/devices/stats"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            DeviceStatsDto.class);
+
+    DeviceCreationDto dto = new DeviceCreationDto();
+    dto.setName("Stats Device");
+    dto.setBrand("Stats Brand");
+    dto.setDeviceState(DeviceState.INACTIVE);
+    dto.setCreationTime(ZonedDateTime.now());
+    DeviceDto created =
+        objectMapper.readValue(
+            mockMvc
+                .perform(
+                    post("/api/v1/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            DeviceDto.class);
+
+    long inactive = before.getByState().get(DeviceState.INACTIVE) + 1;
+    mockMvc
+        .perform(get("/api/v1/devices/stats"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.total").value(before.getTotal() + 1))
+        .andExpect(jsonPath("$.byState.INACTIVE").value(inactive));
+
+    mockMvc
+        .perform(
+            get("/api/v1/devices")
+                .queryParam("state", "inactive")
+                .queryParam("sort", "id,desc")
+                .queryParam("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalElements").value(inactive))
+        .andExpect(jsonPath("$.content[0].id").value(created.getId()));
+
+    mockMvc
+        .perform(
+            get("/api/v1/devices")
+                .queryParam("state", "INACTIVE")
+                .queryParam("brand", "Stats Brand"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalElements").value(1));
+
+    mockMvc
+        .perform(get("/api/v1/devices").queryParam("state", "BROKEN"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void changes_AfterCreatingAndPatchingDevice_ShouldStreamEvents() throws Exception {
+    MvcResult subscription =
+        mockMvc
+            .perform(get("/api/v1/devices/changes").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    DeviceCreationDto dto = new DeviceCreationDto();
+    dto.setName("Feed Device");
+    dto.setBrand("Feed Brand");
+    dto.setDeviceState(DeviceState.AVAILABLE);
+    dto.setCreationTime(ZonedDateTime.now());
+    DeviceDto created =
+        objectMapper.readValue(
+            mockMvc
+                .perform(
+                    post("/api/v1/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            DeviceDto.class);
+    mockMvc
+        .perform(
+            patch("/api/v1/devices/" + created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"deviceState\":\"IN_USE\"}"))
+        .andExpect(status().isOk());
+
+    String stream = "";
+    for (int attempt = 0; attempt < 100 && !stream.contains("event:UPDATED"); attempt++) {
+      Thread.sleep(100);
+      stream = subscription.getResponse().getContentAsString();
+    }
+    assertThat(stream).contains("event:CREATED", "event:UPDATED", "\"name\":\"Feed Device\"");
+    assertThat(stream).contains("\"previousState\":\"AVAILABLE\"");
+  }
+
+  @Test
+  void createDevice_ShouldWriteOutboxEventThatGetsDispatched() throws Exception {
+    DeviceCreationDto dto = new DeviceCreationDto();
+    dto.setName("Outbox Device");
+    dto.setBrand("Outbox Brand");
+    dto.setDeviceState(DeviceState.AVAILABLE);
+    dto.setCreationTime(ZonedDateTime.now());
+    DeviceDto created =
+        objectMapper.readValue(
+            mockMvc
+                .perform(
+                    post("/api/v1/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            DeviceDto.class);
+
+    String sql =
+        "SELECT COUNT(*) FROM device_outbox WHERE device_id = ? AND event_type = 'CREATED'"
+            + " AND payload ->> 'name' = 'Outbox Device' AND dispatched_on IS NOT NULL";
+    long dispatched = 0;
+    for (int attempt = 0; attempt < 100 && dispatched == 0; attempt++) {
+      Thread.sleep(100);
+      dispatched = jdbcTemplate.queryForObject(sql, Long.class, created.getId());
+    }
+    assertThat(dispatched).isEqualTo(1);
+  }
+
+  @Test
+  void findDevicesByBrandOrName_WithKeysetPagination_ShouldFollowNextCursor() throws Exception {
+
+    for (String name : List.of("Keyset One", "Keyset Two", "Keyset Three")) {
+      DeviceCreationDto dto = new DeviceCreationDto();
+      dto.setName(name);
+      dto.setBrand("Keyset Brand");
+      dto.setDeviceState(DeviceState.AVAILABLE);
+      dto.setCreationTime(ZonedDateTime.now());
+      mockMvc
+          .perform(
+              post("/api/v1/devices")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(objectMapper.writeValueAsString(dto)))
+          .andExpect(status().isOk());
+    }
+
+    MvcResult firstPage =
+        mockMvc
+            .perform(
+                get("/api/v1/devices")
+                    .queryParam("pagination", "keyset")
+                    .queryParam("brand", "Keyset Brand")
+                    .queryParam("size", "2")
+                    .queryParam("sort", "name,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(2))
+            .andExpect(jsonPath("$.content[0].name").value("Keyset Two"))
+            .andExpect(jsonPath("$.content[1].name").value("Keyset Three"))
+            .andExpect(jsonPath("$.nextCursor").isString())
+            .andReturn();
+
+    String nextCursor =
+        objectMapper
+            .readValue(firstPage.getResponse().getContentAsString(), DeviceCursorPageDto.class)
+            .getNextCursor();
+
+    mockMvc
+        .perform(
+            get("/api/v1/devices")
+                .queryParam("pagination", "keyset")
+                .queryParam("brand", "Keyset Brand")
+                .queryParam("size", "2")
+                .queryParam("after", nextCursor))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.content[0].name").value("Keyset One"))
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+  }
+
+  @Test
+  void exportDevices_WithBrandFilter_ShouldStreamMatchingDevices() throws Exception {
+
+    for (String name : List.of("Export One", "Export, Two")) {
+      DeviceCreationDto dto = new DeviceCreationDto();
+      dto.setName(name);
+      dto.setBrand("Export Brand");
+      dto.setDeviceState(DeviceState.AVAILABLE);
+      dto.setCreationTime(ZonedDateTime.now());
+      mockMvc
+          .perform(
+              post("/api/v1/devices")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(objectMapper.writeValueAsString(dto)))
+          .andExpect(status().isOk());
+    }
+
+    MvcResult ndjsonResult =
+        mockMvc
+            .perform(get("/api/v1/devices/export").queryParam("brand", "Export Brand"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    String ndjson =
+        mockMvc
+            .perform(asyncDispatch(ndjsonResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    List<String> lines = ndjson.lines().toList();
+    assertThat(lines).hasSize(2);
+    assertThat(objectMapper.readValue(lines.get(0), DeviceDto.class).getName())
+        .isEqualTo("Export One");
+
+    MvcResult csvResult =
+        mockMvc
+            .perform(
+                get("/api/v1/devices/export")
+                    .queryParam("brand", "Export Brand")
+                    .queryParam("format", "csv")
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    byte[] compressed =
+        mockMvc
+            .perform(asyncDispatch(csvResult))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+    try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      List<String> csvLines =
+          new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+      assertThat(csvLines).hasSize(3);
+      assertThat(csvLines.get(0)).isEqualTo("id,name,brand,deviceState,creationTime");
+      assertThat(csvLines.get(2)).contains(",\"Export, Two\",Export Brand,AVAILABLE,");
+    }
+  }
+
+  @Test
+  void exportDevices_WithUnknownFormat_ShouldThrowBadRequestException() throws Exception {
+    mockMvc
+        .perform(get("/api/v1/devices/export").queryParam("format", "xml"))
+        .andExpect(status().isBadRequest())
+        .andExpect(
+            jsonPath("$.errorCode")
+                .value(InvalidDeviceSearchException.INVALID_DEVICE_SEARCH_ERROR_CODE));
+  }
+
   @Test
   void updateDevice_WithValidInput_ShouldUpdateDevice() throws Exception {
 
@@ -242,6 +1050,146 @@ class DeviceResourceTest {
     assertThat(updatedDevice.getBrand()).isEqualTo(updateDto.getBrand());
   }
 
+  @Test
+  void getDeviceById_AfterPatchAndDelete_ShouldNotServeStaleCachedDevice() throws Exception {
+
+    DeviceCreationDto creationDto = new DeviceCreationDto();
+    creationDto.setName("Cached Device");
+    creationDto.setBrand("Cached Brand");
+    creationDto.setDeviceState(DeviceState.AVAILABLE);
+    creationDto.setCreationTime(ZonedDateTime.now().withNano(0));
+
+    MvcResult createResult =
+        mockMvc
+            .perform(
+                post("/api/v1/devices")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(creationDto)))
+            .andExpect(status().isOk())
+            .andReturn();
+    Long deviceId =
+        objectMapper
+            .readValue(createResult.getResponse().getContentAsString(), DeviceDto.class)
+            .getId();
+
+    mockMvc
+        .perform(get("/api/v1/devices/{id}", deviceId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.deviceState").value("AVAILABLE"));
+
+    DevicePatchDto patchDto = new DevicePatchDto();
+    patchDto.setDeviceState(DeviceState.INACTIVE);
+    mockMvc
+        .perform(
+            patch("/api/v1/devices/{id}", deviceId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patchDto)))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(get("/api/v1/devices/{id}", deviceId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.deviceState").value("INACTIVE"));
+
+    mockMvc.perform(delete("/api/v1/devices/{id}", deviceId)).andExpect(status().isNoContent());
+
+    mockMvc.perform(get("/api/v1/devices/{id}", deviceId)).andExpect(status().isNotFound());
+  }
+
+  @Test
+  void getDeviceById_WithMatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+
+    DeviceCreationDto creationDto = new DeviceCreationDto();
+    creationDto.setName("ETag Device");
+    creationDto.setBrand("ETag Brand");
+    creationDto.setDeviceState(DeviceState.AVAILABLE);
+    creationDto.setCreationTime(ZonedDateTime.now().withNano(0));
+
+    MvcResult createResult =
+        mockMvc
+            .perform(
+                post("/api/v1/devices")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(creationDto)))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn();
+    Long deviceId =
+        objectMapper
+            .readValue(createResult.getResponse().getContentAsString(), DeviceDto.class)
+            .getId();
+    String eTag = createResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+    mockMvc
+        .perform(get("/api/v1/devices/{id}", deviceId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, eTag))
+        .andExpect(content().string(""));
+
+    DevicePatchDto patchDto = new DevicePatchDto();
+    patchDto.setDeviceState(DeviceState.INACTIVE);
+    MvcResult patchResult =
+        mockMvc
+            .perform(
+                patch("/api/v1/devices/{id}", deviceId)
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(patchDto)))
+            .andExpect(status().isOk())
+            .andReturn();
+    String patchedETag = patchResult.getResponse().getHeader(HttpHeaders.ETAG);
+    assertThat(patchedETag).isNotEqualTo(eTag);
+
+    mockMvc
+        .perform(get("/api/v1/devices/{id}", deviceId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, patchedETag))
+        .andExpect(jsonPath("$.deviceState").value("INACTIVE"));
+  }
+
+  @Test
+  void deleteDevice_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+
+    DeviceCreationDto creationDto = new DeviceCreationDto();
+    creationDto.setName("Stale Device");
+    creationDto.setBrand("Stale Brand");
+    creationDto.setDeviceState(DeviceState.AVAILABLE);
+    creationDto.setCreationTime(ZonedDateTime.now().withNano(0));
+
+    MvcResult createResult =
+        mockMvc
+            .perform(
+                post("/api/v1/devices")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(creationDto)))
+            .andExpect(status().isOk())
+            .andReturn();
+    Long deviceId =
+        objectMapper
+            .readValue(createResult.getResponse().getContentAsString(), DeviceDto.class)
+            .getId();
+    String eTag = createResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+    DeviceUpdateDto updateDto = new DeviceUpdateDto();
+    updateDto.setName("Stale Device Renamed");
+    updateDto.setBrand("Stale Brand");
+    updateDto.setDeviceState(DeviceState.AVAILABLE);
+    mockMvc
+        .perform(
+            put("/api/v1/devices/{id}", deviceId)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(delete("/api/v1/devices/{id}", deviceId).header(HttpHeaders.IF_MATCH, eTag))
+        .andExpect(status().isPreconditionFailed())
+        .andExpect(
+            jsonPath("$.errorCode")
+                .value(DeviceVersionMismatchException.DEVICE_VERSION_MISMATCH_ERROR_CODE));
+  }
+
   @Test
   void updateDevice_WithInvalidInput_ShouldThrowValidationException() throws Exception {
 
@@ -0,0 +1,62 @@
+package de.ilyes.device.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.ilyes.device.config.properties.DeviceChangesProperties;
+import de.ilyes.device.mapper.dto.DeviceChangeEventDto;
+import de.ilyes.device.mapper.dto.DeviceChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DeviceChangeBroadcasterTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final List<Runnable> drainTasks = new ArrayList<>();
+
+  private DeviceChangeBroadcaster broadcaster;
+
+  @BeforeEach
+  void setUp() {
+    DeviceChangesProperties changesProperties = new DeviceChangesProperties();
+    changesProperties.setBufferSize(2);
+    broadcaster = new DeviceChangeBroadcaster(changesProperties, meterRegistry, drainTasks::add);
+  }
+
+  @Test
+  void publish_WhenSubscriberBufferIsFull_ShouldDropOnlyThatSubscriber() {
+    broadcaster.subscribe();
+    broadcaster.publish(event());
+    broadcaster.publish(event());
+    assertEquals(1, broadcaster.getSubscriberCount());
+
+    broadcaster.subscribe();
+    broadcaster.publish(event());
+
+    assertEquals(1, broadcaster.getSubscriberCount());
+    assertEquals(
+        1,
+        meterRegistry
+            .get(DeviceChangeBroadcaster.SLOW_CONSUMER_DISCONNECTS_METRIC)
+            .counter()
+            .count());
+    assertEquals(1, meterRegistry.get(DeviceChangeBroadcaster.SUBSCRIBERS_METRIC).gauge().value());
+  }
+
+  @Test
+  void drain_AfterOverflow_ShouldCompleteTheStream() {
+    broadcaster.subscribe();
+    for (int i = 0; i < 3; i++) {
+      broadcaster.publish(event());
+    }
+
+    assertDoesNotThrow(() -> drainTasks.get(0).run());
+    assertEquals(0, broadcaster.getSubscriberCount());
+  }
+
+  private static DeviceChangeEventDto event() {
+    return DeviceChangeEventDto.builder().type(DeviceChangeType.CREATED).build();
+  }
+}
@@ -0,0 +1,115 @@
+package de.ilyes.device.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ilyes.device.config.cache.CacheConfiguration;
+import de.ilyes.device.config.properties.DeviceChangesProperties;
+import de.ilyes.device.mapper.dto.DeviceChangeEventDto;
+import de.ilyes.device.mapper.dto.DeviceChangeType;
+import de.ilyes.device.mapper.dto.DeviceDto;
+import de.ilyes.device.mapper.dto.DeviceState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class DeviceChangeListenerTest {
+
+  @Mock private JdbcConnectionDetails connectionDetails;
+
+  @Mock private DeviceChangeBroadcaster broadcaster;
+
+  @Mock private DeviceStateIndex deviceStateIndex;
+
+  private final ConcurrentMapCacheManager cacheManager =
+      new ConcurrentMapCacheManager(CacheConfiguration.DEVICE_CACHE);
+
+  private DeviceChangeListener listener;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    listener =
+        new DeviceChangeListener(
+            connectionDetails,
+            broadcaster,
+            deviceStateIndex,
+            cacheManager,
+            new DeviceChangesProperties(),
+            new ObjectMapper().findAndRegisterModules());
+  }
+
+  @Test
+  void handle_WithUpdateNotification_ShouldPublishStateTransition() {
+    listener.handle(
+        "{\"operation\":\"UPDATE\",\"id\":7,\"name\":\"Phone\",\"brand\":\"Brand\","
+            + "\"deviceState\":\"IN_USE\",\"previousState\":\"AVAILABLE\","
+            + "\"creationTime\":\"2025-10-26T18:06:06.752+00:00\",\"version\":3}");
+
+    ArgumentCaptor<DeviceChangeEventDto> event =
+        ArgumentCaptor.forClass(DeviceChangeEventDto.class);
+    verify(broadcaster).publish(event.capture());
+    assertEquals(DeviceChangeType.UPDATED, event.getValue().getType());
+    assertEquals(DeviceState.AVAILABLE, event.getValue().getPreviousState());
+    assertEquals(7L, event.getValue().getDevice().getId());
+    assertEquals(DeviceState.IN_USE, event.getValue().getDevice().getDeviceState());
+    assertEquals(3L, event.getValue().getDevice().getVersion());
+    verify(deviceStateIndex).put(7L, DeviceState.IN_USE);
+  }
+
+  @Test
+  void handle_WithDeleteNotification_ShouldRemoveDeviceFromStateIndex() {
+    listener.handle(
+        "{\"operation\":\"DELETE\",\"id\":7,\"name\":\"Phone\",\"brand\":\"Brand\","
+            + "\"deviceState\":\"AVAILABLE\",\"previousState\":\"AVAILABLE\","
+            + "\"creationTime\":\"2025-10-26T18:06:06.752+00:00\",\"version\":3}");
+
+    verify(deviceStateIndex).remove(7L);
+    verify(deviceStateIndex, never()).put(any(), any());
+  }
+
+  @Test
+  void handle_WithNewerVersionFromAnotherInstance_ShouldEvictCachedDevice() {
+    Cache cache = cacheManager.getCache(CacheConfiguration.DEVICE_CACHE);
+    cache.put(7L, DeviceDto.builder().id(7L).version(2L).build());
+    cache.put(8L, DeviceDto.builder().id(8L).version(5L).build());
+
+    listener.handle(
+        "{\"operation\":\"UPDATE\",\"id\":7,\"name\":\"Phone\",\"brand\":\"Brand\","
+            + "\"deviceState\":\"IN_USE\",\"previousState\":\"AVAILABLE\","
+            + "\"creationTime\":\"2025-10-26T18:06:06.752+00:00\",\"version\":3}");
+    listener.handle(
+        "{\"operation\":\"UPDATE\",\"id\":8,\"name\":\"Phone\",\"brand\":\"Brand\","
+            + "\"deviceState\":\"IN_USE\",\"previousState\":\"AVAILABLE\","
+            + "\"creationTime\":\"2025-10-26T18:06:06.752+00:00\",\"version\":5}");
+
+    assertNull(cache.get(7L));
+    assertNotNull(cache.get(8L));
+  }
+
+  @Test
+  void recoverMissedChanges_ShouldRebuildStateIndexAndClearDeviceCache() {
+    Cache cache = cacheManager.getCache(CacheConfiguration.DEVICE_CACHE);
+    cache.put(7L, DeviceDto.builder().id(7L).version(2L).build());
+
+    listener.recoverMissedChanges();
+
+    verify(deviceStateIndex).rebuild();
+    assertNull(cache.get(7L));
+  }
+
+  @Test
+  void handle_WithMalformedNotification_ShouldNotPublish() {
+    listener.handle("{not json");
+
+    verify(broadcaster, never()).publish(any());
+    verifyNoInteractions(deviceStateIndex);
+  }
+}
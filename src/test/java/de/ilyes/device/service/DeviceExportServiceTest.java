@@ -0,0 +1,93 @@
+package de.ilyes.device.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ilyes.device.mapper.dto.DeviceDto;
+import de.ilyes.device.mapper.dto.DeviceExportFormat;
+import de.ilyes.device.mapper.dto.DeviceSearchCriteria;
+import de.ilyes.device.mapper.dto.DeviceState;
+import de.ilyes.device.repository.entity.DeviceRepository;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class DeviceExportServiceTest {
+
+  @Mock private DeviceRepository deviceRepository;
+
+  private DeviceExportService deviceExportService;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    deviceExportService =
+        new DeviceExportService(deviceRepository, new ObjectMapper().findAndRegisterModules());
+  }
+
+  @Test
+  void export_AsNdjson_ShouldWriteOneDevicePerLine() throws Exception {
+    DeviceSearchCriteria criteria = DeviceSearchCriteria.builder().brand("Brand").build();
+    streamDevices(device(1L, "Phone"), device(2L, "Tablet"));
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    long exported = deviceExportService.export(criteria, DeviceExportFormat.NDJSON, outputStream);
+
+    assertEquals(2, exported);
+    String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2, lines.length);
+    assertTrue(lines[0].startsWith("{\"id\":1,\"name\":\"Phone\""));
+    assertTrue(lines[1].startsWith("{\"id\":2,\"name\":\"Tablet\""));
+    assertFalse(lines[0].contains("version"));
+    verify(deviceRepository).streamByCriteria(eq(criteria), any());
+  }
+
+  @Test
+  void export_AsCsv_ShouldWriteHeaderAndEscapeValues() throws Exception {
+    streamDevices(device(1L, "Phone, \"Pro\""));
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    long exported =
+        deviceExportService.export(
+            DeviceSearchCriteria.builder().build(), DeviceExportFormat.CSV, outputStream);
+
+    assertEquals(1, exported);
+    assertEquals(
+        "id,name,brand,deviceState,creationTime\n"
+            + "1,\"Phone, \"\"Pro\"\"\",Brand,AVAILABLE,2025-10-26T18:06:06.000Z\n",
+        outputStream.toString(StandardCharsets.UTF_8));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void streamDevices(DeviceDto... devices) {
+    doAnswer(
+            invocation -> {
+              Consumer<DeviceDto> consumer = invocation.getArgument(1);
+              for (DeviceDto device : devices) {
+                consumer.accept(device);
+              }
+              return null;
+            })
+        .when(deviceRepository)
+        .streamByCriteria(any(), any(Consumer.class));
+  }
+
+  private static DeviceDto device(Long id, String name) {
+    return DeviceDto.builder()
+        .id(id)
+        .name(name)
+        .brand("Brand")
+        .deviceState(DeviceState.AVAILABLE)
+        .creationTime(ZonedDateTime.of(2025, 10, 26, 18, 6, 6, 0, ZoneOffset.UTC))
+        .version(0L)
+        .build();
+  }
+}
@@ -0,0 +1,141 @@
+package de.ilyes.device.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import de.ilyes.device.config.properties.DeviceGroupCommitProperties;
+import de.ilyes.device.repository.entity.DeviceEntity;
+import de.ilyes.device.repository.entity.DeviceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class DeviceGroupCommitterTest {
+
+  @Mock private DeviceRepository deviceRepository;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final AtomicLong nextId = new AtomicLong(1);
+
+  private DeviceGroupCommitter groupCommitter;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    DeviceGroupCommitProperties groupCommitProperties = new DeviceGroupCommitProperties();
+    groupCommitProperties.setMaxBatchSize(8);
+    groupCommitProperties.setMaxDelay(Duration.ofMillis(200));
+    groupCommitter =
+        new DeviceGroupCommitter(
+            deviceRepository, groupCommitProperties, transactionManager, meterRegistry);
+    groupCommitter.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    groupCommitter.stop();
+  }
+
+  @Test
+  void insert_WithConcurrentCreates_ShouldCommitThemTogether() throws Exception {
+    doAnswer(
+            invocation -> {
+              List<DeviceEntity> devices = invocation.getArgument(0);
+              devices.forEach(device -> device.setId(nextId.getAndIncrement()));
+              return null;
+            })
+        .when(deviceRepository)
+        .insertAll(anyList());
+
+    List<DeviceEntity> saved =
+        insertConcurrently(device("Phone"), device("Tablet"), device("Watch"));
+
+    assertEquals(
+        List.of("Phone", "Tablet", "Watch"), saved.stream().map(DeviceEntity::getName).toList());
+    assertTrue(saved.stream().allMatch(device -> device.getId() != null));
+    verify(deviceRepository).insertAll(anyList());
+    verify(transactionManager).commit(any());
+    assertEquals(
+        3, meterRegistry.get(DeviceGroupCommitter.GROUP_SIZE_METRIC).summary().totalAmount());
+  }
+
+  @Test
+  void insert_WhenGroupFails_ShouldRetryDevicesOneByOne() throws Exception {
+    doAnswer(
+            invocation -> {
+              List<DeviceEntity> devices = invocation.getArgument(0);
+              if (devices.stream().anyMatch(device -> device.getName().equals("Duplicate"))) {
+                throw new DataIntegrityViolationException("duplicate");
+              }
+              devices.forEach(device -> device.setId(nextId.getAndIncrement()));
+              return null;
+            })
+        .when(deviceRepository)
+        .insertAll(anyList());
+
+    List<Future<DeviceEntity>> results =
+        submitConcurrently(device("Phone"), device("Duplicate"), device("Watch"));
+
+    assertNotNull(results.get(0).get().getId());
+    Exception failure = assertThrows(Exception.class, () -> results.get(1).get());
+    assertInstanceOf(DataIntegrityViolationException.class, failure.getCause());
+    assertNotNull(results.get(2).get().getId());
+    assertEquals(
+        1, meterRegistry.get(DeviceGroupCommitter.GROUP_FALLBACK_METRIC).counter().count());
+  }
+
+  @Test
+  void insert_AfterStop_ShouldInsertOnCallerThread() {
+    groupCommitter.stop();
+
+    groupCommitter.insert(device("Phone"));
+
+    verify(deviceRepository).insertAll(anyList());
+  }
+
+  private List<DeviceEntity> insertConcurrently(DeviceEntity... devices) throws Exception {
+    List<DeviceEntity> saved = new ArrayList<>();
+    for (Future<DeviceEntity> result : submitConcurrently(devices)) {
+      saved.add(result.get());
+    }
+    return saved;
+  }
+
+  private List<Future<DeviceEntity>> submitConcurrently(DeviceEntity... devices) {
+    CountDownLatch ready = new CountDownLatch(1);
+    List<Future<DeviceEntity>> results = new ArrayList<>();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (DeviceEntity device : devices) {
+        results.add(
+            executor.submit(
+                () -> {
+                  ready.await();
+                  return groupCommitter.insert(device);
+                }));
+      }
+      ready.countDown();
+    }
+    return results;
+  }
+
+  private static DeviceEntity device(String name) {
+    return DeviceEntity.builder().name(name).build();
+  }
+}
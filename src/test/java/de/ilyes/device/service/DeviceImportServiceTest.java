@@ -0,0 +1,174 @@
+package de.ilyes.device.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ilyes.device.config.properties.DeviceImportProperties;
+import de.ilyes.device.exception.controlleradvice.ExceptionControllerAdvice;
+import de.ilyes.device.mapper.DeviceMapper;
+import de.ilyes.device.mapper.dto.DeviceImportEventDto;
+import de.ilyes.device.mapper.dto.DeviceImportEventType;
+import de.ilyes.device.repository.entity.DeviceEntity;
+import de.ilyes.device.repository.entity.DeviceRepository;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class DeviceImportServiceTest {
+
+  @Mock private DeviceRepository deviceRepository;
+
+  @Mock private DeviceMapper deviceMapper;
+
+  @Mock private DeviceStateIndex deviceStateIndex;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  private DeviceImportService deviceImportService;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    DeviceImportProperties importProperties = new DeviceImportProperties();
+    importProperties.setChunkSize(2);
+    importProperties.setMaxLineLength(200);
+    deviceImportService =
+        new DeviceImportService(
+            deviceRepository,
+            deviceMapper,
+            deviceStateIndex,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            importProperties,
+            transactionManager,
+            objectMapper);
+    when(deviceMapper.toEntity(any())).thenReturn(new DeviceEntity());
+  }
+
+  @Test
+  void importDevices_WithValidAndInvalidLines_ShouldInsertInChunksAndReportRejections()
+      throws Exception {
+    String ndjson =
+        String.join(
+            "\n",
+            deviceLine("Phone"),
+            deviceLine(""),
+            "{not json",
+            deviceLine("Tablet"),
+            "",
+            deviceLine("Watch"));
+
+    List<DeviceImportEventDto> events = importDevices(ndjson);
+
+    assertEquals(
+        List.of(
+            DeviceImportEventType.REJECTED,
+            DeviceImportEventType.REJECTED,
+            DeviceImportEventType.PROGRESS,
+            DeviceImportEventType.COMPLETED),
+        events.stream().map(DeviceImportEventDto::getType).toList());
+    assertEquals(2L, events.get(0).getLine());
+    assertEquals(
+        ExceptionControllerAdvice.VALIDATION_DEVICE_ERROR_CODE, events.get(0).getErrorCode());
+    assertEquals(3L, events.get(1).getLine());
+    assertEquals(
+        ExceptionControllerAdvice.INVALID_REQUEST_BODY_ERROR_CODE, events.get(1).getErrorCode());
+    assertEquals(2L, events.get(2).getImported());
+    DeviceImportEventDto completed = events.get(3);
+    assertEquals(6L, completed.getProcessed());
+    assertEquals(3L, completed.getImported());
+    assertEquals(2L, completed.getRejected());
+    verify(deviceRepository, times(2)).insertAll(anyList());
+    verify(transactionManager, times(2)).commit(any());
+  }
+
+  @Test
+  void importDevices_WhenChunkCannotBeStored_ShouldStopWithFailedEvent() throws Exception {
+    doNothing()
+        .doThrow(new DataIntegrityViolationException("duplicate"))
+        .when(deviceRepository)
+        .insertAll(anyList());
+    String ndjson =
+        String.join(
+            "\n",
+            deviceLine("Phone"),
+            deviceLine("Tablet"),
+            deviceLine("Watch"),
+            deviceLine("Laptop"),
+            deviceLine("Desktop"));
+
+    List<DeviceImportEventDto> events = importDevices(ndjson);
+
+    DeviceImportEventDto failed = events.get(events.size() - 1);
+    assertEquals(DeviceImportEventType.FAILED, failed.getType());
+    assertEquals(ExceptionControllerAdvice.INTERNAL_ERROR_CODE, failed.getErrorCode());
+    assertEquals(2L, failed.getImported());
+    assertEquals(4L, failed.getProcessed());
+    verify(deviceRepository, times(2)).insertAll(anyList());
+  }
+
+  @Test
+  void importDevices_WithLineLongerThanLimit_ShouldRejectItAndContinue() throws Exception {
+    String ndjson =
+        String.join(
+            "\r\n", deviceLine("Phone"), deviceLine("x".repeat(20_000)), deviceLine("Tablet"));
+
+    List<DeviceImportEventDto> events = importDevices(ndjson);
+
+    assertEquals(
+        List.of(
+            DeviceImportEventType.REJECTED,
+            DeviceImportEventType.PROGRESS,
+            DeviceImportEventType.COMPLETED),
+        events.stream().map(DeviceImportEventDto::getType).toList());
+    assertEquals(2L, events.get(0).getLine());
+    assertEquals(
+        ExceptionControllerAdvice.INVALID_REQUEST_BODY_ERROR_CODE, events.get(0).getErrorCode());
+    assertEquals(2L, events.get(2).getImported());
+    assertEquals(1L, events.get(2).getRejected());
+  }
+
+  private List<DeviceImportEventDto> importDevices(String ndjson) throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    deviceImportService.importDevices(
+        new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), outputStream);
+    return outputStream
+        .toString(StandardCharsets.UTF_8)
+        .lines()
+        .map(
+            line -> {
+              try {
+                return objectMapper.readValue(line, DeviceImportEventDto.class);
+              } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+              }
+            })
+        .toList();
+  }
+
+  private static String deviceLine(String name) {
+    String creationTime =
+        ZonedDateTime.now(ZoneOffset.UTC)
+            .minusDays(1)
+            .format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSX"));
+    return "{\"name\":\""
+        + name
+        + "\",\"brand\":\"Brand\",\"deviceState\":\"AVAILABLE\",\"creationTime\":\""
+        + creationTime
+        + "\"}";
+  }
+}
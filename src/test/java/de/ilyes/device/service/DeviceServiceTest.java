@@ -4,22 +4,45 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import de.ilyes.device.config.cache.CacheConfiguration;
+import de.ilyes.device.config.properties.DeviceBatchProperties;
+import de.ilyes.device.exception.DeviceBatchTooLargeException;
 import de.ilyes.device.exception.DeviceCannotBeDeletedWhileStatusInUseException;
+import de.ilyes.device.exception.DeviceCannotBeUpdatedWhileStatusInUseException;
 import de.ilyes.device.exception.DeviceNotFoundException;
+import de.ilyes.device.exception.DeviceVersionMismatchException;
+import de.ilyes.device.exception.InvalidDeviceSearchException;
 import de.ilyes.device.mapper.DeviceMapper;
 import de.ilyes.device.mapper.dto.*;
 import de.ilyes.device.repository.entity.DeviceEntity;
+import de.ilyes.device.repository.entity.DeviceKeyset;
 import de.ilyes.device.repository.entity.DeviceRepository;
+import de.ilyes.device.repository.entity.DeviceSortColumn;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.Validator;
+import java.time.ZonedDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 class DeviceServiceTest {
 
@@ -27,6 +50,16 @@ class DeviceServiceTest {
 
   @Mock private DeviceMapper deviceMapper;
 
+  @Mock private Validator validator;
+
+  @Mock private CacheManager cacheManager;
+
+  @Mock private DeviceStateIndex deviceStateIndex;
+
+  @Mock private ObjectProvider<DeviceGroupCommitter> groupCommitter;
+
+  @Spy private DeviceBatchProperties batchProperties = new DeviceBatchProperties();
+
   @InjectMocks private DeviceService deviceService;
 
   @BeforeEach
@@ -53,86 +86,131 @@ class DeviceServiceTest {
   @Test
   void getById_WhenDeviceExists_ShouldReturnDevice() {
     Long id = 1L;
-    DeviceEntity entity = new DeviceEntity();
     DeviceDto dto = new DeviceDto();
 
-    when(deviceRepository.findById(id)).thenReturn(Optional.of(entity));
-    when(deviceMapper.toDto(entity)).thenReturn(dto);
+    when(deviceRepository.findDtoById(id)).thenReturn(Optional.of(dto));
 
     DeviceDto result = deviceService.getById(id);
 
-    assertNotNull(result);
-    verify(deviceRepository).findById(id);
+    assertSame(dto, result);
+    verify(deviceRepository).findDtoById(id);
+    verify(deviceRepository, never()).findById(any());
+    verifyNoInteractions(deviceMapper);
   }
 
   @Test
   void getById_WhenDeviceDoesNotExist_ShouldThrowDeviceNotFoundException() {
     Long id = 1L;
 
-    when(deviceRepository.findById(id)).thenReturn(Optional.empty());
+    when(deviceRepository.findDtoById(id)).thenReturn(Optional.empty());
 
     assertThrows(DeviceNotFoundException.class, () -> deviceService.getById(id));
-    verify(deviceRepository).findById(id);
+    verify(deviceRepository).findDtoById(id);
   }
 
   @Test
   void update_WithValidInput_ShouldUpdateDevice() {
     Long id = 1L;
-    DeviceUpdateDto updateDto = new DeviceUpdateDto();
+    DeviceUpdateDto updateDto =
+        DeviceUpdateDto.builder()
+            .name("Name")
+            .brand("Brand")
+            .deviceState(DeviceState.AVAILABLE)
+            .build();
     DeviceEntity entity = new DeviceEntity();
     DeviceDto dto = new DeviceDto();
 
-    when(deviceRepository.findById(id)).thenReturn(Optional.of(entity));
-    when(deviceRepository.save(entity)).thenReturn(entity);
+    when(deviceRepository.updateIfAllowed(id, "Name", "Brand", DeviceState.AVAILABLE, null))
+        .thenReturn(Optional.of(entity));
     when(deviceMapper.toDto(entity)).thenReturn(dto);
 
-    DeviceDto result = deviceService.update(id, updateDto);
+    DeviceDto result = deviceService.update(id, updateDto, null);
 
     assertNotNull(result);
-    verify(deviceRepository).save(entity);
+    verify(deviceRepository).updateIfAllowed(id, "Name", "Brand", DeviceState.AVAILABLE, null);
+    verify(deviceRepository, never()).findById(any());
+    verify(deviceRepository, never()).findVersionById(any());
+  }
+
+  @Test
+  void update_WhenDeviceInUse_ShouldThrowException() {
+    Long id = 1L;
+    DeviceUpdateDto updateDto =
+        DeviceUpdateDto.builder()
+            .name("Name")
+            .brand("Brand")
+            .deviceState(DeviceState.IN_USE)
+            .build();
+
+    when(deviceRepository.updateIfAllowed(id, "Name", "Brand", DeviceState.IN_USE, null))
+        .thenReturn(Optional.empty());
+    when(deviceRepository.findVersionById(id)).thenReturn(Optional.of(0L));
+
+    assertThrows(
+        DeviceCannotBeUpdatedWhileStatusInUseException.class,
+        () -> deviceService.update(id, updateDto, null));
+  }
+
+  @Test
+  void update_WhenDeviceDoesNotExist_ShouldThrowDeviceNotFoundException() {
+    Long id = 1L;
+    DeviceUpdateDto updateDto = new DeviceUpdateDto();
+
+    when(deviceRepository.updateIfAllowed(id, null, null, null, null)).thenReturn(Optional.empty());
+    when(deviceRepository.findVersionById(id)).thenReturn(Optional.empty());
+
+    assertThrows(DeviceNotFoundException.class, () -> deviceService.update(id, updateDto, null));
   }
 
   @Test
   void delete_WhenDeviceNotInUse_ShouldDeleteDevice() {
     Long id = 1L;
-    DeviceEntity entity = new DeviceEntity();
-    entity.setDeviceState(DeviceState.AVAILABLE);
 
-    when(deviceRepository.findById(id)).thenReturn(Optional.of(entity));
+    when(deviceRepository.deleteIfNotInUse(id, null)).thenReturn(true);
 
-    deviceService.delete(id);
+    deviceService.delete(id, null);
 
-    verify(deviceRepository).deleteById(id);
+    verify(deviceRepository).deleteIfNotInUse(id, null);
+    verify(deviceRepository, never()).findVersionById(any());
   }
 
   @Test
   void delete_WhenDeviceInUse_ShouldThrowException() {
     Long id = 1L;
-    DeviceEntity entity = new DeviceEntity();
-    entity.setDeviceState(DeviceState.IN_USE);
 
-    when(deviceRepository.findById(id)).thenReturn(Optional.of(entity));
+    when(deviceRepository.deleteIfNotInUse(id, null)).thenReturn(false);
+    when(deviceRepository.findVersionById(id)).thenReturn(Optional.of(0L));
 
     assertThrows(
-        DeviceCannotBeDeletedWhileStatusInUseException.class, () -> deviceService.delete(id));
+        DeviceCannotBeDeletedWhileStatusInUseException.class, () -> deviceService.delete(id, null));
     verify(deviceRepository, never()).deleteById(id);
   }
 
+  @Test
+  void delete_WhenDeviceDoesNotExist_ShouldThrowDeviceNotFoundException() {
+    Long id = 1L;
+
+    when(deviceRepository.deleteIfNotInUse(id, null)).thenReturn(false);
+    when(deviceRepository.findVersionById(id)).thenReturn(Optional.empty());
+
+    assertThrows(DeviceNotFoundException.class, () -> deviceService.delete(id, null));
+  }
+
   @Test
   void patchDevice_WithValidInput_ShouldPatchDevice() {
     Long id = 1L;
-    DevicePatchDto patchDto = new DevicePatchDto();
+    DevicePatchDto patchDto = DevicePatchDto.builder().deviceState(DeviceState.INACTIVE).build();
     DeviceEntity entity = new DeviceEntity();
     DeviceDto dto = new DeviceDto();
 
-    when(deviceRepository.findById(id)).thenReturn(Optional.of(entity));
-    when(deviceRepository.save(entity)).thenReturn(entity);
+    when(deviceRepository.updateIfAllowed(id, null, null, DeviceState.INACTIVE, null))
+        .thenReturn(Optional.of(entity));
     when(deviceMapper.toDto(entity)).thenReturn(dto);
 
-    DeviceDto result = deviceService.patchDevice(id, patchDto);
+    DeviceDto result = deviceService.patchDevice(id, patchDto, null);
 
     assertNotNull(result);
-    verify(deviceRepository).save(entity);
+    verify(deviceRepository).updateIfAllowed(id, null, null, DeviceState.INACTIVE, null);
   }
 
   @Test
@@ -140,12 +218,10 @@ class DeviceServiceTest {
     String brand = "Brand";
     String name = "Name";
     PageRequest pageable = PageRequest.of(0, 10);
-    DeviceEntity entity = new DeviceEntity();
     DeviceDto dto = new DeviceDto();
-    Page<DeviceEntity> page = new PageImpl<>(Collections.singletonList(entity));
+    Page<DeviceDto> page = new PageImpl<>(Collections.singletonList(dto));
 
     when(deviceRepository.findByBrandOrName(brand, name, pageable)).thenReturn(page);
-    when(deviceMapper.toDto(entity)).thenReturn(dto);
 
     Page<DeviceDto> result = deviceService.findByBrandOrName(brand, name, pageable);
 
@@ -153,4 +229,466 @@ class DeviceServiceTest {
     assertEquals(1, result.getTotalElements());
     verify(deviceRepository).findByBrandOrName(brand, name, pageable);
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void createBatch_WithValidAndInvalidItems_ShouldReportPerItemResults() {
+    DeviceCreationDto valid = DeviceCreationDto.builder().name("Name").build();
+    DeviceCreationDto invalid = DeviceCreationDto.builder().name("").build();
+    DeviceEntity entity = new DeviceEntity();
+    DeviceDto dto = new DeviceDto();
+    ConstraintViolation<DeviceCreationDto> violation = mock(ConstraintViolation.class);
+    Path path = mock(Path.class);
+
+    when(path.toString()).thenReturn("name");
+    when(violation.getPropertyPath()).thenReturn(path);
+    when(violation.getMessage()).thenReturn("Device name must not be blank");
+    when(validator.validate(valid)).thenReturn(Set.of());
+    when(validator.validate(invalid)).thenReturn(Set.of(violation));
+    when(deviceMapper.toEntity(valid)).thenReturn(entity);
+    when(deviceRepository.saveAll(List.of(entity))).thenReturn(List.of(entity));
+    when(deviceMapper.toDto(entity)).thenReturn(dto);
+
+    DeviceBatchCreationResultDto result = deviceService.createBatch(List.of(valid, invalid));
+
+    assertEquals(1, result.getCreated());
+    assertEquals(1, result.getRejected());
+    assertEquals(DeviceBatchItemStatus.CREATED, result.getItems().get(0).getStatus());
+    assertSame(dto, result.getItems().get(0).getDevice());
+    assertEquals(DeviceBatchItemStatus.REJECTED, result.getItems().get(1).getStatus());
+    assertEquals(
+        "name : Device name must not be blank", result.getItems().get(1).getErrorMessage());
+    verify(deviceRepository).saveAll(List.of(entity));
+  }
+
+  @Test
+  void createBatch_WhenBatchTooLarge_ShouldThrowException() {
+    batchProperties.setMaxSize(1);
+
+    assertThrows(
+        DeviceBatchTooLargeException.class,
+        () -> deviceService.createBatch(List.of(new DeviceCreationDto(), new DeviceCreationDto())));
+    verify(deviceRepository, never()).saveAll(any());
+  }
+
+  @Test
+  void transitionStates_WithIds_ShouldReportPerDeviceOutcomes() {
+    DeviceDto moved = DeviceDto.builder().id(1L).deviceState(DeviceState.AVAILABLE).build();
+    ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfiguration.DEVICE_CACHE);
+    when(cacheManager.getCache(CacheConfiguration.DEVICE_CACHE)).thenReturn(cache);
+    when(deviceRepository.transitionStates(List.of(3L, 1L, 2L), DeviceState.AVAILABLE))
+        .thenReturn(List.of(moved));
+
+    DeviceStateTransitionResultDto result =
+        deviceService.transitionStates(
+            DeviceStateTransitionDto.builder()
+                .ids(List.of(3L, 1L, 2L, 1L))
+                .deviceState(DeviceState.AVAILABLE)
+                .build());
+
+    assertEquals(1, result.getUpdated());
+    assertEquals(2, result.getNotFound());
+    assertEquals(
+        List.of(
+            DeviceStateTransitionStatus.UPDATED,
+            DeviceStateTransitionStatus.NOT_FOUND,
+            DeviceStateTransitionStatus.NOT_FOUND),
+        result.getItems().stream().map(DeviceStateTransitionItemDto::getStatus).toList());
+    assertEquals(
+        DeviceNotFoundException.DEVICE_NOT_FOUND_ERROR_CODE,
+        result.getItems().get(2).getErrorCode());
+    assertSame(moved, cache.get(1L, DeviceDto.class));
+    verify(deviceStateIndex).put(1L, DeviceState.AVAILABLE);
+    verify(deviceStateIndex, never()).put(eq(2L), any());
+  }
+
+  @Test
+  void transitionStates_WithFilterMatchingTooManyDevices_ShouldThrowException() {
+    batchProperties.setMaxSize(2);
+    when(deviceRepository.findIdsByCriteria(any(), isNull(), eq(3)))
+        .thenReturn(List.of(1L, 2L, 3L));
+
+    assertThrows(
+        DeviceBatchTooLargeException.class,
+        () ->
+            deviceService.transitionStates(
+                DeviceStateTransitionDto.builder()
+                    .brand("Brand")
+                    .deviceState(DeviceState.INACTIVE)
+                    .build()));
+    verify(deviceRepository, never()).transitionStates(any(), any());
+  }
+
+  @Test
+  void transitionStates_WithIdsAndFilter_ShouldThrowInvalidDeviceSearchException() {
+    assertThrows(
+        InvalidDeviceSearchException.class,
+        () ->
+            deviceService.transitionStates(
+                DeviceStateTransitionDto.builder()
+                    .ids(List.of(1L))
+                    .name("Phone")
+                    .deviceState(DeviceState.INACTIVE)
+                    .build()));
+  }
+
+  @Test
+  void deleteAll_WithIds_ShouldDeleteInChunksAndReportRefusedIds() {
+    batchProperties.setDeleteChunkSize(2);
+    when(cacheManager.getCache(CacheConfiguration.DEVICE_CACHE))
+        .thenReturn(new ConcurrentMapCache(CacheConfiguration.DEVICE_CACHE));
+    when(deviceRepository.deleteAllIfNotInUse(List.of(1L, 2L)))
+        .thenReturn(Map.of(1L, true, 2L, false));
+    when(deviceRepository.deleteAllIfNotInUse(List.of(3L))).thenReturn(Map.of());
+
+    DeviceBulkDeletionResultDto result =
+        deviceService.deleteAll(DeviceBulkDeletionDto.builder().ids(List.of(3L, 2L, 1L)).build());
+
+    assertEquals(1, result.getDeleted());
+    assertEquals(List.of(2L), result.getRejectedIds());
+    assertEquals(List.of(3L), result.getNotFoundIds());
+    verify(deviceStateIndex).remove(1L);
+    verify(deviceStateIndex, never()).remove(2L);
+  }
+
+  @Test
+  void deleteAll_WithFilter_ShouldWalkMatchingIdsChunkByChunk() {
+    batchProperties.setDeleteChunkSize(2);
+    ZonedDateTime createdTo = ZonedDateTime.now().minusMonths(1);
+    when(deviceRepository.findIdsByCriteria(any(), isNull(), eq(2))).thenReturn(List.of(1L, 2L));
+    when(deviceRepository.findIdsByCriteria(any(), eq(2L), eq(2))).thenReturn(List.of(5L));
+    when(deviceRepository.deleteAllIfNotInUse(List.of(1L, 2L)))
+        .thenReturn(Map.of(1L, true, 2L, true));
+    when(deviceRepository.deleteAllIfNotInUse(List.of(5L))).thenReturn(Map.of(5L, false));
+
+    DeviceBulkDeletionResultDto result =
+        deviceService.deleteAll(
+            DeviceBulkDeletionDto.builder().brand("Old Brand").createdTo(createdTo).build());
+
+    assertEquals(2, result.getDeleted());
+    assertEquals(List.of(5L), result.getRejectedIds());
+    ArgumentCaptor<DeviceSearchCriteria> criteria =
+        ArgumentCaptor.forClass(DeviceSearchCriteria.class);
+    verify(deviceRepository, times(2)).findIdsByCriteria(criteria.capture(), any(), eq(2));
+    assertEquals(createdTo, criteria.getValue().getCreatedTo());
+    assertEquals("Old Brand", criteria.getValue().getBrand());
+  }
+
+  @Test
+  void deleteAll_WithFilterButNoCreatedTo_ShouldThrowInvalidDeviceSearchException() {
+    assertThrows(
+        InvalidDeviceSearchException.class,
+        () -> deviceService.deleteAll(DeviceBulkDeletionDto.builder().brand("Old Brand").build()));
+    verify(deviceRepository, never()).deleteAllIfNotInUse(any());
+  }
+
+  @Test
+  void findByIds_ShouldKeepRequestOrderServeCachedDevicesAndReportMissingIds() {
+    DeviceDto cachedDevice = DeviceDto.builder().id(7L).build();
+    DeviceDto storedDevice = DeviceDto.builder().id(3L).build();
+    ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfiguration.DEVICE_CACHE);
+    cache.put(7L, cachedDevice);
+    when(cacheManager.getCache(CacheConfiguration.DEVICE_CACHE)).thenReturn(cache);
+    when(deviceRepository.findByIds(List.of(3L, 9L), null)).thenReturn(List.of(storedDevice));
+
+    DeviceLookupResultDto result = deviceService.findByIds(List.of(3L, 7L, 9L, 3L), null);
+
+    assertEquals(List.of(storedDevice, cachedDevice), result.getDevices());
+    assertEquals(List.of(9L), result.getMissingIds());
+    assertSame(storedDevice, cache.get(3L, DeviceDto.class));
+  }
+
+  @Test
+  void findByIds_WithFields_ShouldBypassDeviceCache() {
+    Set<DeviceField> fields = DeviceField.fromValues("name");
+    when(deviceRepository.findByIds(List.of(1L), fields)).thenReturn(List.of());
+
+    DeviceLookupResultDto result = deviceService.findByIds(List.of(1L), fields);
+
+    assertEquals(List.of(1L), result.getMissingIds());
+    verifyNoInteractions(cacheManager);
+  }
+
+  @Test
+  void findByIds_WhenTooManyIds_ShouldThrowException() {
+    batchProperties.setMaxLookupSize(1);
+
+    assertThrows(
+        DeviceBatchTooLargeException.class, () -> deviceService.findByIds(List.of(1L, 2L), null));
+    verify(deviceRepository, never()).findByIds(any(), any());
+  }
+
+  @Test
+  void findByBrandOrNameAfter_WhenMoreRowsExist_ShouldReturnNextCursor() {
+    DeviceSearchCriteria criteria = DeviceSearchCriteria.builder().brand("Brand").build();
+    DeviceDto first = DeviceDto.builder().id(1L).name("A").build();
+    DeviceDto second = DeviceDto.builder().id(2L).name("B").build();
+    DeviceDto third = DeviceDto.builder().id(3L).name("C").build();
+
+    when(deviceRepository.findByCriteriaAfter(eq(criteria), any(), eq(3)))
+        .thenReturn(List.of(first, second, third));
+
+    DeviceCursorPageDto firstPage =
+        deviceService.findByBrandOrNameAfter(criteria, null, 2, Sort.by("name"));
+
+    assertEquals(2, firstPage.getContent().size());
+    assertNotNull(firstPage.getNextCursor());
+
+    when(deviceRepository.findByCriteriaAfter(eq(criteria), any(), eq(3)))
+        .thenReturn(List.of(third));
+
+    DeviceCursorPageDto secondPage =
+        deviceService.findByBrandOrNameAfter(
+            criteria, firstPage.getNextCursor(), 2, Sort.unsorted());
+
+    assertEquals(1, secondPage.getContent().size());
+    assertNull(secondPage.getNextCursor());
+    ArgumentCaptor<DeviceKeyset> keysetCaptor = ArgumentCaptor.forClass(DeviceKeyset.class);
+    verify(deviceRepository, times(2))
+        .findByCriteriaAfter(eq(criteria), keysetCaptor.capture(), eq(3));
+    DeviceKeyset keyset = keysetCaptor.getAllValues().get(1);
+    assertEquals(DeviceSortColumn.NAME, keyset.getSortColumn());
+    assertEquals(Sort.Direction.ASC, keyset.getDirection());
+    assertEquals(2L, keyset.getLastId());
+    assertEquals("B", keyset.getLastValue());
+  }
+
+  @Test
+  void findByBrandOrNameAfter_WithInvalidCursor_ShouldThrowInvalidDeviceSearchException() {
+    DeviceSearchCriteria criteria = new DeviceSearchCriteria();
+
+    assertThrows(
+        InvalidDeviceSearchException.class,
+        () -> deviceService.findByBrandOrNameAfter(criteria, "not-a-cursor", 10, Sort.unsorted()));
+    verify(deviceRepository, never()).findByCriteriaAfter(any(), any(), anyInt());
+  }
+
+  @Test
+  void search_WithMatchMode_ShouldUseCriteriaQuery() {
+    DeviceSearchCriteria criteria =
+        DeviceSearchCriteria.builder().name("phone").match(DeviceMatchMode.CONTAINS).build();
+    PageRequest pageable = PageRequest.of(0, 10);
+    DeviceDto dto = new DeviceDto();
+
+    when(deviceRepository.findByCriteria(criteria, pageable))
+        .thenReturn(new PageImpl<>(List.of(dto)));
+
+    Page<DeviceDto> result = deviceService.search(criteria, pageable);
+
+    assertEquals(1, result.getTotalElements());
+    verify(deviceRepository).findByCriteria(criteria, pageable);
+    verify(deviceRepository, never()).findByBrandOrName(any(), any(), any());
+  }
+
+  @Test
+  void search_WithoutCount_ShouldReturnSliceWithoutCounting() {
+    DeviceSearchCriteria criteria = DeviceSearchCriteria.builder().brand("Brand").build();
+    PageRequest pageable = PageRequest.of(0, 1);
+
+    when(deviceRepository.findSliceByBrandOrName("Brand", null, pageable))
+        .thenReturn(new SliceImpl<>(List.of(new DeviceDto()), pageable, true));
+
+    Slice<DeviceDto> result = deviceService.search(criteria, DeviceCountMode.NONE, pageable);
+
+    assertTrue(result.hasNext());
+    assertFalse(result instanceof Page);
+    verify(deviceRepository, never()).findByBrandOrName(any(), any(), any());
+    verify(deviceRepository, never()).countByCriteria(any());
+  }
+
+  @Test
+  void search_WithEstimatedCount_ShouldNeverReportFewerDevicesThanSeen() {
+    DeviceSearchCriteria criteria =
+        DeviceSearchCriteria.builder().name("phone").match(DeviceMatchMode.CONTAINS).build();
+    PageRequest pageable = PageRequest.of(1, 2);
+
+    when(deviceRepository.findSliceByCriteria(criteria, pageable))
+        .thenReturn(new SliceImpl<>(List.of(new DeviceDto(), new DeviceDto()), pageable, true));
+    when(deviceRepository.estimateCountByCriteria(criteria)).thenReturn(3L);
+
+    Page<DeviceDto> result =
+        (Page<DeviceDto>) deviceService.search(criteria, DeviceCountMode.ESTIMATE, pageable);
+
+    assertEquals(5, result.getTotalElements());
+    assertTrue(result.hasNext());
+  }
+
+  @Test
+  void search_WithEstimatedCountOnLastPage_ShouldUseRowsSeen() {
+    DeviceSearchCriteria criteria = new DeviceSearchCriteria();
+    PageRequest pageable = PageRequest.of(2, 10);
+
+    when(deviceRepository.findSliceByBrandOrName(null, null, pageable))
+        .thenReturn(new SliceImpl<>(List.of(new DeviceDto()), pageable, false));
+
+    Page<DeviceDto> result =
+        (Page<DeviceDto>) deviceService.search(criteria, DeviceCountMode.ESTIMATE, pageable);
+
+    assertEquals(21, result.getTotalElements());
+    verify(deviceRepository, never()).estimateCountByCriteria(any());
+  }
+
+  @Test
+  void search_WithCachedCount_ShouldCountOncePerFilter() {
+    DeviceSearchCriteria criteria = DeviceSearchCriteria.builder().brand("Brand").build();
+    PageRequest pageable = PageRequest.of(0, 1);
+
+    when(cacheManager.getCache(CacheConfiguration.DEVICE_COUNT_CACHE))
+        .thenReturn(new ConcurrentMapCache(CacheConfiguration.DEVICE_COUNT_CACHE));
+    when(deviceRepository.findSliceByBrandOrName("Brand", null, pageable))
+        .thenReturn(new SliceImpl<>(List.of(new DeviceDto()), pageable, true));
+    when(deviceRepository.countByCriteria(criteria)).thenReturn(42L);
+
+    deviceService.search(criteria, DeviceCountMode.CACHED, pageable);
+    Page<DeviceDto> result =
+        (Page<DeviceDto>) deviceService.search(criteria, DeviceCountMode.CACHED, pageable);
+
+    assertEquals(42, result.getTotalElements());
+    verify(deviceRepository, times(1)).countByCriteria(criteria);
+  }
+
+  @Test
+  void search_WithCachedCount_ShouldNotShareCountsAcrossStates() {
+    DeviceSearchCriteria brandOnly = DeviceSearchCriteria.builder().brand("Brand").build();
+    DeviceSearchCriteria brandAndState =
+        DeviceSearchCriteria.builder().brand("Brand").deviceState(DeviceState.IN_USE).build();
+    PageRequest pageable = PageRequest.of(0, 1);
+
+    when(cacheManager.getCache(CacheConfiguration.DEVICE_COUNT_CACHE))
+        .thenReturn(new ConcurrentMapCache(CacheConfiguration.DEVICE_COUNT_CACHE));
+    when(deviceRepository.findSliceByBrandOrName("Brand", null, pageable))
+        .thenReturn(new SliceImpl<>(List.of(new DeviceDto()), pageable, true));
+    when(deviceRepository.findSliceByCriteria(brandAndState, pageable))
+        .thenReturn(new SliceImpl<>(List.of(new DeviceDto()), pageable, true));
+    when(deviceRepository.countByCriteria(brandOnly)).thenReturn(42L);
+    when(deviceRepository.countByCriteria(brandAndState)).thenReturn(5L);
+
+    deviceService.search(brandOnly, DeviceCountMode.CACHED, pageable);
+    Page<DeviceDto> result =
+        (Page<DeviceDto>) deviceService.search(brandAndState, DeviceCountMode.CACHED, pageable);
+
+    assertEquals(5, result.getTotalElements());
+  }
+
+  @Test
+  void search_WithStateOnly_ShouldPageFromStateIndex() {
+    DeviceSearchCriteria criteria =
+        DeviceSearchCriteria.builder().deviceState(DeviceState.IN_USE).build();
+    PageRequest pageable = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "id"));
+    DeviceDto first = DeviceDto.builder().id(3L).build();
+    DeviceDto second = DeviceDto.builder().id(5L).build();
+
+    when(deviceStateIndex.page(DeviceState.IN_USE, 2, 2, false)).thenReturn(List.of(5L, 3L));
+    when(deviceStateIndex.count(DeviceState.IN_USE)).thenReturn(7L);
+    when(deviceRepository.findByIdsInState(List.of(5L, 3L), DeviceState.IN_USE, null))
+        .thenReturn(List.of(first, second));
+
+    Slice<DeviceDto> result = deviceService.search(criteria, DeviceCountMode.NONE, pageable);
+
+    assertEquals(List.of(second, first), result.getContent());
+    assertEquals(7, ((Page<DeviceDto>) result).getTotalElements());
+    verify(deviceRepository, never()).findSliceByCriteria(any(), any());
+  }
+
+  @Test
+  void search_WithStateAndBrand_ShouldUseCriteriaQuery() {
+    DeviceSearchCriteria criteria =
+        DeviceSearchCriteria.builder().brand("Brand").deviceState(DeviceState.IN_USE).build();
+    PageRequest pageable = PageRequest.of(0, 10);
+
+    when(deviceRepository.findByCriteria(criteria, pageable)).thenReturn(Page.empty());
+
+    deviceService.search(criteria, pageable);
+
+    verify(deviceRepository).findByCriteria(criteria, pageable);
+    verify(deviceStateIndex, never()).page(any(), anyLong(), anyInt(), anyBoolean());
+  }
+
+  @Test
+  void search_WithCreationTimeRange_ShouldUseCriteriaQuery() {
+    DeviceSearchCriteria criteria =
+        DeviceSearchCriteria.builder()
+            .brand("Brand")
+            .deviceState(DeviceState.IN_USE)
+            .createdFrom(ZonedDateTime.parse("2025-01-01T00:00:00Z"))
+            .build();
+    PageRequest pageable = PageRequest.of(0, 10);
+
+    when(deviceRepository.findSliceByCriteria(criteria, pageable))
+        .thenReturn(new SliceImpl<>(List.of()));
+
+    deviceService.search(criteria, DeviceCountMode.NONE, pageable);
+
+    verify(deviceRepository).findSliceByCriteria(criteria, pageable);
+    verify(deviceRepository, never()).findSliceByBrandOrName(any(), any(), any());
+    verify(deviceStateIndex, never()).page(any(), anyLong(), anyInt(), anyBoolean());
+  }
+
+  @Test
+  void search_WithFields_ShouldUseCriteriaQueryInsteadOfEntityProjection() {
+    DeviceSearchCriteria criteria =
+        DeviceSearchCriteria.builder()
+            .brand("Brand")
+            .fields(DeviceField.fromValues("deviceState"))
+            .build();
+    PageRequest pageable = PageRequest.of(0, 10);
+
+    when(deviceRepository.findByCriteria(criteria, pageable)).thenReturn(Page.empty());
+
+    deviceService.search(criteria, pageable);
+
+    verify(deviceRepository).findByCriteria(criteria, pageable);
+    verify(deviceRepository, never()).findByBrandOrName(any(), any(), any());
+    assertEquals(Set.of(DeviceField.ID, DeviceField.DEVICE_STATE), criteria.getFields());
+  }
+
+  @Test
+  void getStats_ShouldSumStateCounts() {
+    when(deviceStateIndex.counts())
+        .thenReturn(
+            Map.of(DeviceState.AVAILABLE, 3L, DeviceState.IN_USE, 2L, DeviceState.INACTIVE, 1L));
+
+    DeviceStatsDto result = deviceService.getStats();
+
+    assertEquals(6, result.getTotal());
+    assertEquals(2L, result.getByState().get(DeviceState.IN_USE));
+  }
+
+  @Test
+  void findByBrandOrNameAfter_WithFuzzyMatch_ShouldThrowInvalidDeviceSearchException() {
+    DeviceSearchCriteria criteria =
+        DeviceSearchCriteria.builder().name("phone").match(DeviceMatchMode.FUZZY).build();
+
+    assertThrows(
+        InvalidDeviceSearchException.class,
+        () -> deviceService.findByBrandOrNameAfter(criteria, null, 10, Sort.unsorted()));
+  }
+
+  @Test
+  void update_WhenExpectedVersionIsStale_ShouldThrowDeviceVersionMismatchException() {
+    Long id = 1L;
+    DeviceUpdateDto updateDto =
+        DeviceUpdateDto.builder()
+            .name("Name")
+            .brand("Brand")
+            .deviceState(DeviceState.AVAILABLE)
+            .build();
+
+    when(deviceRepository.updateIfAllowed(id, "Name", "Brand", DeviceState.AVAILABLE, 1L))
+        .thenReturn(Optional.empty());
+    when(deviceRepository.findVersionById(id)).thenReturn(Optional.of(2L));
+
+    assertThrows(
+        DeviceVersionMismatchException.class, () -> deviceService.update(id, updateDto, 1L));
+  }
+
+  @Test
+  void getVersionById_WhenDeviceNotCached_ShouldQueryVersionOnly() {
+    Long id = 1L;
+
+    when(deviceRepository.findVersionById(id)).thenReturn(Optional.of(3L));
+
+    assertEquals(3L, deviceService.getVersionById(id));
+    verify(deviceRepository, never()).findById(any());
+  }
 }
@@ -0,0 +1,113 @@
+package de.ilyes.device.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import de.ilyes.device.mapper.dto.DeviceState;
+import de.ilyes.device.repository.entity.DeviceRepository;
+import java.util.List;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class DeviceStateIndexTest {
+
+  @Mock private DeviceRepository deviceRepository;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private DeviceStateIndex deviceStateIndex;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    doAnswer(
+            invocation -> {
+              BiConsumer<Long, DeviceState> consumer = invocation.getArgument(0);
+              for (long id = 1; id <= 10; id++) {
+                consumer.accept(id, id % 2 == 0 ? DeviceState.IN_USE : DeviceState.AVAILABLE);
+              }
+              return null;
+            })
+        .when(deviceRepository)
+        .streamDeviceStates(any(BiConsumer.class));
+    deviceStateIndex = new DeviceStateIndex(deviceRepository, transactionManager);
+    deviceStateIndex.afterSingletonsInstantiated();
+  }
+
+  @Test
+  void rebuild_ShouldCountAndPageDevicesPerState() {
+    assertEquals(5, deviceStateIndex.count(DeviceState.IN_USE));
+    assertEquals(0, deviceStateIndex.count(DeviceState.INACTIVE));
+    assertEquals(List.of(6L, 8L), deviceStateIndex.page(DeviceState.IN_USE, 2, 2, true));
+    assertEquals(List.of(5L, 3L), deviceStateIndex.page(DeviceState.AVAILABLE, 2, 2, false));
+    assertEquals(List.of(), deviceStateIndex.page(DeviceState.AVAILABLE, 5, 2, true));
+    assertEquals(List.of(7L, 9L), deviceStateIndex.after(DeviceState.AVAILABLE, 5L, 5, true));
+    assertEquals(List.of(4L, 2L), deviceStateIndex.after(DeviceState.IN_USE, 6L, 5, false));
+  }
+
+  @Test
+  void rebuild_ShouldStreamInsideReadOnlyTransaction() {
+    ArgumentCaptor<TransactionDefinition> definition =
+        ArgumentCaptor.forClass(TransactionDefinition.class);
+    verify(transactionManager).getTransaction(definition.capture());
+    assertTrue(definition.getValue().isReadOnly());
+    verify(transactionManager).commit(any());
+  }
+
+  @Test
+  void putAndRemove_ShouldMoveDevicesBetweenStates() {
+    deviceStateIndex.put(2L, DeviceState.INACTIVE);
+    deviceStateIndex.put(11L, DeviceState.INACTIVE);
+    deviceStateIndex.remove(1L);
+
+    assertEquals(4, deviceStateIndex.count(DeviceState.IN_USE));
+    assertEquals(4, deviceStateIndex.count(DeviceState.AVAILABLE));
+    assertEquals(List.of(2L, 11L), deviceStateIndex.page(DeviceState.INACTIVE, 0, 10, true));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void rebuild_ShouldKeepChangesAppliedWhileStreaming() {
+    doAnswer(
+            invocation -> {
+              BiConsumer<Long, DeviceState> consumer = invocation.getArgument(0);
+              consumer.accept(1L, DeviceState.AVAILABLE);
+              deviceStateIndex.put(1L, DeviceState.INACTIVE);
+              deviceStateIndex.put(2L, DeviceState.IN_USE);
+              return null;
+            })
+        .when(deviceRepository)
+        .streamDeviceStates(any(BiConsumer.class));
+
+    deviceStateIndex.rebuild();
+
+    assertEquals(List.of(1L), deviceStateIndex.page(DeviceState.INACTIVE, 0, 10, true));
+    assertEquals(List.of(2L), deviceStateIndex.page(DeviceState.IN_USE, 0, 10, true));
+    assertEquals(0, deviceStateIndex.count(DeviceState.AVAILABLE));
+  }
+
+  @Test
+  void put_InsideTransaction_ShouldApplyOnlyAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      deviceStateIndex.put(11L, DeviceState.INACTIVE);
+      assertEquals(0, deviceStateIndex.count(DeviceState.INACTIVE));
+
+      TransactionSynchronizationUtils.invokeAfterCommit(
+          TransactionSynchronizationManager.getSynchronizations());
+      assertEquals(1, deviceStateIndex.count(DeviceState.INACTIVE));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+}
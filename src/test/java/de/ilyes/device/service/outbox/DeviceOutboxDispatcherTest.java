@@ -0,0 +1,87 @@
+package de.ilyes.device.service.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import de.ilyes.device.config.properties.DeviceOutboxProperties;
+import de.ilyes.device.repository.outbox.DeviceOutboxEvent;
+import de.ilyes.device.repository.outbox.DeviceOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class DeviceOutboxDispatcherTest {
+
+  @Mock private DeviceOutboxRepository outboxRepository;
+
+  @Mock private DeviceOutboxSink sink;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private DeviceOutboxDispatcher dispatcher;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    DeviceOutboxProperties outboxProperties = new DeviceOutboxProperties();
+    outboxProperties.setBatchSize(2);
+    outboxProperties.setCleanupBatchSize(2);
+    dispatcher =
+        new DeviceOutboxDispatcher(
+            outboxRepository, sink, outboxProperties, transactionManager, meterRegistry);
+    when(outboxRepository.findOldestPendingCreatedOn()).thenReturn(Optional.empty());
+  }
+
+  @Test
+  void dispatchPending_ShouldDrainFullBatchesUntilShortOne() throws Exception {
+    List<DeviceOutboxEvent> full = List.of(event(1), event(2));
+    List<DeviceOutboxEvent> partial = List.of(event(3));
+    when(outboxRepository.lockPending(2)).thenReturn(full, partial);
+
+    dispatcher.dispatchPending();
+
+    verify(sink).dispatch(full);
+    verify(sink).dispatch(partial);
+    verify(outboxRepository).markDispatched(full);
+    verify(outboxRepository).markDispatched(partial);
+    verify(transactionManager, times(2)).commit(any());
+    assertEquals(3, meterRegistry.get(DeviceOutboxDispatcher.DISPATCHED_METRIC).counter().count());
+    assertEquals(3, meterRegistry.get(DeviceOutboxDispatcher.LAG_METRIC).timer().count());
+  }
+
+  @Test
+  void dispatchPending_WhenSinkFails_ShouldRollBackAndLeaveEventsPending() throws Exception {
+    List<DeviceOutboxEvent> events = List.of(event(1));
+    when(outboxRepository.lockPending(2)).thenReturn(events);
+    doThrow(new IOException("disk full")).when(sink).dispatch(events);
+
+    dispatcher.dispatchPending();
+
+    verify(outboxRepository, never()).markDispatched(any());
+    verify(transactionManager).rollback(any());
+    assertEquals(1, meterRegistry.get(DeviceOutboxDispatcher.FAILURES_METRIC).counter().count());
+  }
+
+  @Test
+  void deleteDispatched_ShouldDeleteInBatchesUntilShortOne() {
+    when(outboxRepository.deleteDispatchedBefore(any(), eq(2))).thenReturn(2, 2, 1);
+
+    dispatcher.deleteDispatched();
+
+    verify(outboxRepository, times(3)).deleteDispatchedBefore(any(), eq(2));
+  }
+
+  private static DeviceOutboxEvent event(long id) {
+    return new DeviceOutboxEvent(id, id, "CREATED", "{}", Instant.now());
+  }
+}
@@ -0,0 +1,91 @@
+package de.ilyes.device.service.partition;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import de.ilyes.device.config.cache.CacheConfiguration;
+import de.ilyes.device.config.properties.DevicePartitionProperties;
+import de.ilyes.device.repository.partition.DevicePartitionRepository;
+import de.ilyes.device.service.DeviceStateIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+class DevicePartitionMaintainerTest {
+
+  @Mock private DevicePartitionRepository partitionRepository;
+
+  @Mock private DeviceStateIndex deviceStateIndex;
+
+  @Mock private CacheManager cacheManager;
+
+  @Mock private Cache cache;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final DevicePartitionProperties partitionProperties = new DevicePartitionProperties();
+
+  private DevicePartitionMaintainer maintainer;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    maintainer =
+        new DevicePartitionMaintainer(
+            partitionRepository,
+            partitionProperties,
+            deviceStateIndex,
+            cacheManager,
+            meterRegistry);
+    when(cacheManager.getCache(CacheConfiguration.DEVICE_CACHE)).thenReturn(cache);
+    when(partitionRepository.ensurePartitions(anyInt(), anyInt())).thenReturn(List.of());
+    when(partitionRepository.countDefaultPartitionRows()).thenReturn(7L);
+  }
+
+  @Test
+  void maintainPartitions_WithoutArchiveAfter_ShouldOnlyCreateMissingPartitions() {
+    maintainer.maintainPartitions();
+
+    verify(partitionRepository).ensurePartitions(6, 3);
+    verify(partitionRepository, never()).archivePartitionsBefore(any());
+    assertEquals(
+        7,
+        meterRegistry.get(DevicePartitionMaintainer.DEFAULT_PARTITION_ROWS_METRIC).gauge().value());
+  }
+
+  @Test
+  void maintainPartitions_WhenPartitionsArchived_ShouldRebuildIndexAndClearCache() {
+    partitionProperties.setArchiveAfter(Period.ofMonths(12));
+    when(partitionRepository.archivePartitionsBefore(any()))
+        .thenReturn(List.of("devices_p2024_01"));
+
+    maintainer.maintainPartitions();
+
+    Instant expectedCutoff =
+        LocalDate.now(ZoneOffset.UTC).minusMonths(12).atStartOfDay(ZoneOffset.UTC).toInstant();
+    verify(partitionRepository).archivePartitionsBefore(expectedCutoff);
+    verify(deviceStateIndex).rebuild();
+    verify(cache).clear();
+  }
+
+  @Test
+  void maintainPartitions_WhenNothingArchived_ShouldKeepIndexAndCache() {
+    partitionProperties.setArchiveAfter(Period.ofMonths(12));
+    when(partitionRepository.archivePartitionsBefore(any())).thenReturn(List.of());
+
+    maintainer.maintainPartitions();
+
+    verify(deviceStateIndex, never()).rebuild();
+    verify(cache, never()).clear();
+  }
+}